@@ -0,0 +1,60 @@
+package com.study.common.config;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * 요청(또는 테스트) 하나에서 실행된 SQL 수
+ * (Hibernate 가 준비한 문장 기준, 배치 insert 는 행마다 세지 않음 - QueryCountInspector 참고)
+ */
+@Getter
+public class QueryCount {
+
+    // 테스트에서 확인할 SQL 원문은 이 개수까지만 보관
+    private static final int MAX_RECORDED_STATEMENTS = 1_000;
+
+    private long selectCount;
+    private long insertCount;
+    private long updateCount;
+    private long deleteCount;
+    private long otherCount;
+
+    private final List<String> statements = new ArrayList<>();
+    private final Map<String, Integer> selectRepeats = new HashMap<>();
+
+    // 같은 select 문이 이번 범위에서 몇 번째 실행되었는지 반환
+    int record(String sql) {
+        if (statements.size() < MAX_RECORDED_STATEMENTS) {
+            statements.add(sql);
+        }
+
+        String trimmed = sql.stripLeading();
+        int end = trimmed.indexOf(' ');
+        String keyword = (end < 0 ? trimmed : trimmed.substring(0, end)).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select", "with" -> {
+                selectCount++;
+                return selectRepeats.merge(sql, 1, Integer::sum);
+            }
+            case "insert" -> insertCount++;
+            case "update" -> updateCount++;
+            case "delete" -> deleteCount++;
+            default -> otherCount++;
+        }
+        return 0;
+    }
+
+    public long getTotalCount() {
+        return selectCount + insertCount + updateCount + deleteCount + otherCount;
+    }
+
+    public List<String> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+}
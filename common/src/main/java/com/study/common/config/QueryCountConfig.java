@@ -0,0 +1,28 @@
+package com.study.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * N+1 감지용 SQL 집계 (sql.query-count.enabled)
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.query-count.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer(
+            @Value("${sql.query-count.repeat-threshold:5}") int repeatThreshold) {
+        QueryCountInspector inspector = new QueryCountInspector(repeatThreshold);
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", inspector);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter() {
+        return new FilterRegistrationBean<>(new QueryCountFilter());
+    }
+}
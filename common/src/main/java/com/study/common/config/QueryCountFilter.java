@@ -0,0 +1,32 @@
+package com.study.common.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+ * 요청 단위로 SQL 집계 범위를 시작하고 끝낸다
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCount queryCount = QueryCountHolder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountHolder.clear();
+            log.debug("{} {} - select: {}, insert: {}, update: {}, delete: {}",
+                    request.getMethod(), request.getRequestURI(),
+                    queryCount.getSelectCount(), queryCount.getInsertCount(),
+                    queryCount.getUpdateCount(), queryCount.getDeleteCount());
+        }
+    }
+}
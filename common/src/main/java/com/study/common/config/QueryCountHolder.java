@@ -0,0 +1,28 @@
+package com.study.common.config;
+
+/*
+ * 현재 스레드의 SQL 집계 범위
+ * QueryCountFilter 가 요청마다 시작/종료하고, 테스트에서는 검증할 코드 앞에서 start() 를 호출한다.
+ * 범위가 시작되지 않은 스레드의 SQL 은 집계하지 않는다.
+ */
+public final class QueryCountHolder {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private QueryCountHolder() {
+    }
+
+    public static QueryCount start() {
+        QueryCount queryCount = new QueryCount();
+        CURRENT.set(queryCount);
+        return queryCount;
+    }
+
+    public static QueryCount get() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,35 @@
+package com.study.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/*
+ * Hibernate 가 실행하는 모든 SQL 을 현재 범위(QueryCountHolder)에 집계
+ * 같은 select 문(파라미터만 다른 지연 로딩 등)이 threshold 를 넘겨 반복되면 N+1 의심으로 경고한다.
+ *
+ * StatementInspector 는 실행이 아니라 PreparedStatement 를 준비할 때 호출된다.
+ * 그래서 hibernate.jdbc.batch_size 로 묶인 insert/update 는 행 수가 아니라 준비한 문장 수(배치당 한 번)로 집계되고,
+ * JdbcTemplate 처럼 Hibernate 를 거치지 않은 SQL 은 집계되지 않는다.
+ */
+@Slf4j
+public class QueryCountInspector implements StatementInspector {
+
+    private final int repeatThreshold;
+
+    public QueryCountInspector(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount queryCount = QueryCountHolder.get();
+        if (queryCount != null) {
+            int repeats = queryCount.record(sql);
+            if (repeats == repeatThreshold + 1) {
+                log.warn("possible N+1: same select executed more than {} times in one request: {}",
+                        repeatThreshold, sql);
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,114 @@
+package com.study.common.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/*
+ * SQL 실행 기록
+ * SqlTelemetryDataSource 가 측정한 실행 시간과 행 수를 쿼리 지문(fingerprint) 태그의
+ * sql.query 타이머, sql.query.rows 분포로 남기고 임계값보다 느린 쿼리만 로그로 남긴다.
+ * 백분위 히스토그램은 지문마다 버킷 수십 개가 생기므로 percentileHistogram 으로 켤 때만 만든다.
+ */
+@Slf4j
+public class SqlTelemetry {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern POSITIONAL_PARAMETER = Pattern.compile("\\?\\d*");
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":\\w+");
+    // in 목록을 한 번에 매칭하면 목록이 길 때 (수천 개) 정규식 재귀로 StackOverflowError 가 나므로 "?, " 하나씩 지운다
+    private static final Pattern IN_LIST = Pattern.compile("\\?\\s*,\\s*(?=\\?)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // 리터럴이 섞인 쿼리로 원문 키가 끝없이 늘어나지 않도록 제한 (초과분은 매번 정규화)
+    private static final int MAX_CACHED_QUERIES = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdNanos;
+    private final boolean percentileHistogram;
+    // 쿼리 원문 -> 미터 (같은 지문의 미터는 MeterRegistry 가 하나로 합쳐준다)
+    private final Map<String, QueryMeter> meters = new ConcurrentHashMap<>();
+
+    public SqlTelemetry(MeterRegistry meterRegistry, Duration slowQueryThreshold, boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    public void executed(String sql, long nanos) {
+        QueryMeter queryMeter = meterOf(sql);
+        queryMeter.timer().record(nanos, TimeUnit.NANOSECONDS);
+
+        if (nanos >= slowQueryThresholdNanos) {
+            log.warn("slow query [{}] {} ms: {}", queryMeter.fingerprint(), TimeUnit.NANOSECONDS.toMillis(nanos), sql);
+        }
+    }
+
+    // select 는 읽은 행 수, insert/update/delete 는 변경된 행 수
+    public void rows(String sql, long rows) {
+        meterOf(sql).rows().record(rows);
+    }
+
+    private QueryMeter meterOf(String sql) {
+        QueryMeter queryMeter = meters.get(sql);
+        if (queryMeter == null) {
+            queryMeter = register(sql);
+            if (meters.size() < MAX_CACHED_QUERIES) {
+                meters.put(sql, queryMeter);
+            }
+        }
+        return queryMeter;
+    }
+
+    private QueryMeter register(String sql) {
+        String normalized = normalize(sql);
+        String fingerprint = Integer.toHexString(normalized.hashCode());
+        log.debug("sql fingerprint [{}] {}", fingerprint, normalized);
+
+        String operation = operationOf(normalized);
+        Timer timer = Timer.builder("sql.query")
+                .description("Statement execution time")
+                .tag("fingerprint", fingerprint)
+                .tag("operation", operation)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry);
+        DistributionSummary rows = DistributionSummary.builder("sql.query.rows")
+                .description("Rows read or affected by a statement")
+                .baseUnit("rows")
+                .tag("fingerprint", fingerprint)
+                .tag("operation", operation)
+                .register(meterRegistry);
+        return new QueryMeter(fingerprint, timer, rows);
+    }
+
+    // 값만 다른 쿼리가 같은 지문이 되도록 리터럴, 파라미터, in 목록 길이, 공백을 정규화
+    static String normalize(String query) {
+        String normalized = STRING_LITERAL.matcher(query).replaceAll("?");
+        normalized = NAMED_PARAMETER.matcher(normalized).replaceAll("?");
+        normalized = POSITIONAL_PARAMETER.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static String operationOf(String normalized) {
+        int end = normalized.indexOf(' ');
+        String keyword = (end < 0 ? normalized : normalized.substring(0, end)).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private record QueryMeter(String fingerprint, Timer timer, DistributionSummary rows) {
+    }
+}
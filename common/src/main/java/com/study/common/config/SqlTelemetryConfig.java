@@ -0,0 +1,45 @@
+package com.study.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+ * SQL 실행 기록 (sql.telemetry.enabled)
+ * 애플리케이션이 쓰는 dataSource 빈을 SqlTelemetryDataSource 로 감싼다.
+ * (복제본 라우팅을 쓰면 원본/복제본 풀이 아니라 라우팅 dataSource 하나만 감싸서 중복 기록하지 않음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTelemetryConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor sqlTelemetryDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${sql.telemetry.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+            @Value("${sql.telemetry.percentile-histogram:false}") boolean percentileHistogram) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                // 액추에이터 자동 설정이 없는 컨텍스트 (JMH 등) 에서는 기록하지 않는다
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry == null) {
+                    return bean;
+                }
+                return new SqlTelemetryDataSource(dataSource, new SqlTelemetry(registry, slowQueryThreshold, percentileHistogram));
+            }
+        };
+    }
+}
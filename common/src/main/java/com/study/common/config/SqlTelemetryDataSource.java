@@ -0,0 +1,131 @@
+package com.study.common.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*
+ * JDBC 수준에서 Statement 의 execute* 호출 시간을 재서 SqlTelemetry 에 넘기는 DataSource
+ * Hibernate 통계(generate_statistics) 없이 JPA, JdbcTemplate 로 실행한 SQL 을 모두 기록한다.
+ * select 는 첫 결과를 받을 때까지의 시간이다. (ResultSet 을 읽는 시간은 포함하지 않음)
+ * 행 수는 변경 건수(executeUpdate, executeBatch) 또는 ResultSet 을 닫을 때까지 읽은 행으로 센다.
+ */
+public class SqlTelemetryDataSource extends DelegatingDataSource {
+
+    private final SqlTelemetry telemetry;
+
+    public SqlTelemetryDataSource(DataSource targetDataSource, SqlTelemetry telemetry) {
+        super(targetDataSource);
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement, prepareCall 은 SQL 을 미리 받고 createStatement 는 execute 때 받는다
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrap(method.getReturnType(), statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Object wrap(Class<?> type, Statement statement, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(statement, method, args);
+            } finally {
+                if (sql != null) {
+                    telemetry.executed(sql, System.nanoTime() - start);
+                }
+            }
+            if (sql == null) {
+                return result;
+            }
+            if (result instanceof ResultSet resultSet) {
+                return wrap(resultSet, sql);
+            }
+            long rows = rowsOf(result);
+            if (rows >= 0) {
+                telemetry.rows(sql, rows);
+            }
+            return result;
+        });
+    }
+
+    // 읽은 행을 세다가 처음 닫힐 때 기록
+    private ResultSet wrap(ResultSet resultSet, String sql) {
+        long[] rows = {0};
+        boolean[] closed = {false};
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            String name = method.getName();
+            if (name.equals("next")) {
+                if ((Boolean) result) {
+                    rows[0]++;
+                }
+            } else if (name.equals("close") && !closed[0]) {
+                closed[0] = true;
+                telemetry.rows(sql, rows[0]);
+            }
+            return result;
+        });
+    }
+
+    // executeUpdate, executeBatch 의 변경 건수 (execute 처럼 알 수 없으면 -1)
+    private static long rowsOf(Object result) {
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        long rows = -1;
+        if (result instanceof int[] counts) {
+            rows = 0;
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            rows = 0;
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlTelemetryDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.study.common.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * QueryCountHolder.start() 이후 실행된 SQL 수 검증
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void assertSelectCount(long expected) {
+        assertThat(current().getSelectCount()).as("select count").isEqualTo(expected);
+    }
+
+    public static void assertInsertCount(long expected) {
+        assertThat(current().getInsertCount()).as("insert count").isEqualTo(expected);
+    }
+
+    public static void assertUpdateCount(long expected) {
+        assertThat(current().getUpdateCount()).as("update count").isEqualTo(expected);
+    }
+
+    public static void assertDeleteCount(long expected) {
+        assertThat(current().getDeleteCount()).as("delete count").isEqualTo(expected);
+    }
+
+    private static QueryCount current() {
+        QueryCount queryCount = QueryCountHolder.get();
+        assertThat(queryCount).as("QueryCountHolder.start() was not called").isNotNull();
+        return queryCount;
+    }
+}
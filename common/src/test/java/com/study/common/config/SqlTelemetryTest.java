@@ -0,0 +1,86 @@
+package com.study.common.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlTelemetryTest {
+
+    @Test
+    public void normalizeIgnoresValues() {
+        String query1 = "select m1_0.member_id from member m1_0 where m1_0.username = ? and m1_0.age >= 10";
+        String query2 = "select m1_0.member_id\n  from member m1_0 where m1_0.username = 'kim' and m1_0.age >= 20";
+
+        assertThat(SqlTelemetry.normalize(query1))
+                .isEqualTo(SqlTelemetry.normalize(query2))
+                .isEqualTo("select m1_0.member_id from member m1_0 where m1_0.username = ? and m1_0.age >= ?");
+    }
+
+    @Test
+    public void normalizeCollapsesInList() {
+        String query1 = "select t1_0.team_id from team t1_0 where t1_0.name in (?, ?, ?)";
+        String query2 = "select t1_0.team_id from team t1_0 where t1_0.name in (?)";
+
+        assertThat(SqlTelemetry.normalize(query1))
+                .isEqualTo(SqlTelemetry.normalize(query2))
+                .isEqualTo("select t1_0.team_id from team t1_0 where t1_0.name in (?)");
+    }
+
+    @Test
+    public void normalizeLongInList() {
+        String query = "select i1_0.item_id from item i1_0 where i1_0.item_id in (" + "?, ".repeat(9999) + "?)";
+
+        assertThat(SqlTelemetry.normalize(query)).isEqualTo("select i1_0.item_id from item i1_0 where i1_0.item_id in (?)");
+    }
+
+    @Test
+    public void dataSourceRecordsExecutedStatements() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SqlTelemetryDataSource dataSource = new SqlTelemetryDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:telemetry;DB_CLOSE_DELAY=-1", "sa", ""),
+                new SqlTelemetry(meterRegistry, Duration.ofSeconds(10), false));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("create table telemetry (id bigint primary key)");
+        jdbcTemplate.update("insert into telemetry (id) values (?)", 1L);
+        jdbcTemplate.update("insert into telemetry (id) values (?)", 2L);
+        jdbcTemplate.queryForObject("select count(*) from telemetry where id in (?, ?)", Long.class, 1L, 2L);
+
+        Timer inserts = meterRegistry.get("sql.query").tag("operation", "insert").timer();
+        Timer selects = meterRegistry.get("sql.query").tag("operation", "select").timer();
+        assertThat(inserts.count()).isEqualTo(2);
+        assertThat(selects.count()).isEqualTo(1);
+        assertThat(inserts.takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    @Test
+    public void dataSourceRecordsRows() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SqlTelemetryDataSource dataSource = new SqlTelemetryDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:telemetry-rows;DB_CLOSE_DELAY=-1", "sa", ""),
+                new SqlTelemetry(meterRegistry, Duration.ofSeconds(10), false));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("create table telemetry (id bigint primary key, name varchar(10))");
+        jdbcTemplate.batchUpdate("insert into telemetry (id, name) values (?, ?)",
+                List.of(new Object[]{1L, "a"}, new Object[]{2L, "a"}, new Object[]{3L, "b"}));
+        jdbcTemplate.update("update telemetry set name = ? where name = ?", "c", "a");
+        jdbcTemplate.queryForList("select id from telemetry where id > ?", Long.class, 0L);
+
+        DistributionSummary inserted = meterRegistry.get("sql.query.rows").tag("operation", "insert").summary();
+        DistributionSummary updated = meterRegistry.get("sql.query.rows").tag("operation", "update").summary();
+        DistributionSummary selected = meterRegistry.get("sql.query.rows").tag("operation", "select").summary();
+        assertThat(inserted.totalAmount()).isEqualTo(3);
+        assertThat(updated.totalAmount()).isEqualTo(2);
+        assertThat(selected.count()).isEqualTo(1);
+        assertThat(selected.totalAmount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,41 @@
+package com.study.jpa.controller;
+
+import com.study.jpa.exception.NotEnoughStockException;
+import com.study.jpa.service.OrderIntakePipeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final OrderIntakePipeline orderIntakePipeline;
+
+    // 배치 저장이 끝나면 주문 id 응답
+    @PostMapping("/orders")
+    public CompletableFuture<Long> order(@RequestParam Long memberId,
+                                         @RequestParam Long itemId,
+                                         @RequestParam(defaultValue = "1") int count) {
+        return orderIntakePipeline.submit(memberId, itemId, count);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String queueFull(RejectedExecutionException e) {
+        return e.getMessage();
+    }
+
+    @ExceptionHandler(NotEnoughStockException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String notEnoughStock(NotEnoughStockException e) {
+        return e.getMessage();
+    }
+}
@@ -0,0 +1,23 @@
+package com.study.jpa.dto;
+
+import lombok.Getter;
+
+@Getter
+public class CategorySubtreeItemDTO {
+
+    private final Long categoryId;
+    private final String categoryName;
+    private final int depth;
+    private final Long itemId;
+    private final String itemName;
+    private final int price;
+
+    public CategorySubtreeItemDTO(Long categoryId, String categoryName, int depth, Long itemId, String itemName, Integer price) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.depth = depth;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.price = price == null ? 0 : price;
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.jpa.dto;
+
+import lombok.Getter;
+
+@Getter
+public class OrderItemQueryDTO {
+
+    private final Long orderId;
+    private final String itemName;
+    private final int orderPrice;
+    private final int count;
+
+    public OrderItemQueryDTO(Long orderId, String itemName, int orderPrice, int count) {
+        this.orderId = orderId;
+        this.itemName = itemName;
+        this.orderPrice = orderPrice;
+        this.count = count;
+    }
+}
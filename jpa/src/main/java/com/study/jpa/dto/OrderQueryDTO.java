@@ -0,0 +1,30 @@
+package com.study.jpa.dto;
+
+import com.study.jpa.entity.Address;
+import com.study.jpa.entity.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderQueryDTO {
+
+    private Long orderId;
+    private String memberName;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private Address address;
+    private List<OrderItemQueryDTO> orderItems = new ArrayList<>();
+
+    public OrderQueryDTO(Long orderId, String memberName, LocalDateTime orderDate, OrderStatus status, Address address) {
+        this.orderId = orderId;
+        this.memberName = memberName;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.address = address;
+    }
+}
@@ -2,31 +2,54 @@ package com.study.jpa.entity;
 
 import com.study.jpa.entity.item.Item;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Category {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq_generator")
+    @SequenceGenerator(name = "category_seq_generator", sequenceName = "category_seq", allocationSize = 50)
     @Column(name = "category_id")
     private Long id;
 
     private String name;
 
-    @ManyToMany
-    @JoinTable(name = "category_item",
-        joinColumns = @JoinColumn(name = "category_id"),
-        inverseJoinColumns = @JoinColumn(name = "item_id")
-    )
-    private List<Item> items = new ArrayList<>();
+    @OneToMany(mappedBy = "category", cascade = CascadeType.PERSIST)
+    private List<CategoryItem> categoryItems = new ArrayList<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     private Category parent;
 
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
+
+    public Category(String name) {
+        this.name = name;
+    }
+
+    // 상위 카테고리 변경은 CategoryClosure 도 함께 바뀌어야 하므로 CategoryService 를 통해서만
+    public void changeParent(Category parent) {
+        if (this.parent != null) {
+            this.parent.getChild().remove(this);
+        }
+        this.parent = parent;
+        if (parent != null) {
+            parent.getChild().add(this);
+        }
+    }
+
+    // 대량 추가/삭제는 CategoryItemService 사용
+    public void addItem(Item item) {
+        CategoryItem categoryItem = new CategoryItem(this, item);
+        categoryItems.add(categoryItem);
+        item.getCategoryItems().add(categoryItem);
+    }
 }
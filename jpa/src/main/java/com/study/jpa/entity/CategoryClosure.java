@@ -0,0 +1,41 @@
+package com.study.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * 카테고리 클로저 테이블
+ * 모든 (조상, 자손) 쌍을 깊이와 함께 저장 (자기 자신은 depth 0)
+ * 하위 트리 조회가 깊이와 관계없이 ancestor_id 조건 하나로 끝난다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "category_closure",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_closure", columnNames = {"ancestor_id", "descendant_id"}),
+        indexes = @Index(name = "idx_category_closure_descendant", columnList = "descendant_id, depth"))
+public class CategoryClosure {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_closure_seq_generator")
+    @SequenceGenerator(name = "category_closure_seq_generator", sequenceName = "category_closure_seq", allocationSize = 50)
+    @Column(name = "category_closure_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id")
+    private Category ancestor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id")
+    private Category descendant;
+
+    private int depth;
+
+    public CategoryClosure(Category ancestor, Category descendant, int depth) {
+        this.ancestor = ancestor;
+        this.descendant = descendant;
+        this.depth = depth;
+    }
+}
@@ -1,4 +1,38 @@
 package com.study.jpa.entity;
 
+import com.study.jpa.entity.item.Item;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * 카테고리-상품 연결 엔티티
+ * @ManyToMany List 는 한 건만 바뀌어도 연결 테이블을 전부 지우고 다시 넣으므로 엔티티로 분리
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "category_item",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_item", columnNames = {"category_id", "item_id"}),
+        indexes = @Index(name = "idx_category_item_item", columnList = "item_id"))
 public class CategoryItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_item_seq_generator")
+    @SequenceGenerator(name = "category_item_seq_generator", sequenceName = "category_item_seq", allocationSize = 50)
+    @Column(name = "category_item_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    public CategoryItem(Category category, Item item) {
+        this.category = category;
+        this.item = item;
+    }
 }
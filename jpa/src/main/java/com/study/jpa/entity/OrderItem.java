@@ -2,23 +2,50 @@ package com.study.jpa.entity;
 
 import com.study.jpa.entity.item.Item;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Entity
 @Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_order_item_stock_reservation_id", columnList = "stock_reservation_id"))
 public class OrderItem {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
 
-    @ManyToOne(cascade = CascadeType.PERSIST)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     @JoinColumn(name = "item_id")
     private Item item;
 
     private int orderPrice;
     private int count;
+
+    // StockReservationBuffer 의 예약 블록에서 꺼낸 재고면 그 블록 id (블록 회수 시 팔린 수량 계산)
+    @Column(name = "stock_reservation_id")
+    private Long stockReservationId;
+
+    public static OrderItem createOrderItem(Item item, int orderPrice, int count) {
+        return createOrderItem(item, orderPrice, count, null);
+    }
+
+    public static OrderItem createOrderItem(Item item, int orderPrice, int count, Long stockReservationId) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.item = item;
+        orderItem.orderPrice = orderPrice;
+        orderItem.count = count;
+        orderItem.stockReservationId = stockReservationId;
+        return orderItem;
+    }
+
+    void changeOrder(Order order) {
+        this.order = order;
+    }
 }
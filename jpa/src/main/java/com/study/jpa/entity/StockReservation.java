@@ -0,0 +1,36 @@
+package com.study.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+ * StockReservationBuffer 가 DB 재고에서 미리 차감해둔 블록
+ * 만료되면 quantity 중 팔리지 않은 수량(주문상품에 이 id 가 없는 만큼)을 재고로 되돌린다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_stock_reservation_expires_at", columnList = "expires_at"))
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_seq_generator")
+    @SequenceGenerator(name = "stock_reservation_seq_generator", sequenceName = "stock_reservation_seq", allocationSize = 50)
+    @Column(name = "stock_reservation_id")
+    private Long id;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    private int quantity;
+    private LocalDateTime expiresAt;
+
+    public StockReservation(Long itemId, int quantity, LocalDateTime expiresAt) {
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,6 +1,6 @@
 package com.study.jpa.entity.item;
 
-import com.study.jpa.entity.Category;
+import com.study.jpa.entity.CategoryItem;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,13 +13,15 @@ import java.util.List;
 @DiscriminatorColumn(name = "dtype")
 @Getter @Setter
 public abstract class Item {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_generator")
+    @SequenceGenerator(name = "item_seq_generator", sequenceName = "item_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long id;
     private String name;
     private int price;
     private int stockQuantity;
 
-    @ManyToMany(mappedBy = "items")
-    private List<Category> categories = new ArrayList<>();
+    @OneToMany(mappedBy = "item")
+    private List<CategoryItem> categoryItems = new ArrayList<>();
 }
@@ -0,0 +1,8 @@
+package com.study.jpa.exception;
+
+public class NotEnoughStockException extends RuntimeException {
+
+    public NotEnoughStockException(Long itemId, int count) {
+        super("not enough stock: item " + itemId + ", requested " + count);
+    }
+}
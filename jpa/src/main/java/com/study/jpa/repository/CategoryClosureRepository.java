@@ -0,0 +1,26 @@
+package com.study.jpa.repository;
+
+import com.study.jpa.entity.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, Long> {
+
+    // 자기 자신을 포함한 조상 목록
+    @Query("select c from CategoryClosure c join fetch c.ancestor where c.descendant.id = :categoryId")
+    List<CategoryClosure> findAncestors(@Param("categoryId") Long categoryId);
+
+    // 자기 자신을 포함한 자손 목록
+    @Query("select c from CategoryClosure c join fetch c.descendant where c.ancestor.id = :categoryId")
+    List<CategoryClosure> findDescendants(@Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CategoryClosure c where c.descendant.id in :descendantIds and c.ancestor.id in :ancestorIds")
+    int deletePaths(@Param("ancestorIds") Collection<Long> ancestorIds,
+                    @Param("descendantIds") Collection<Long> descendantIds);
+}
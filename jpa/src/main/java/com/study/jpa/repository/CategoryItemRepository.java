@@ -0,0 +1,24 @@
+package com.study.jpa.repository;
+
+import com.study.jpa.entity.CategoryItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryItemRepository extends JpaRepository<CategoryItem, Long> {
+
+    @Query("select ci.item.id from CategoryItem ci where ci.category.id = :categoryId and ci.item.id in :itemIds")
+    List<Long> findLinkedItemIds(@Param("categoryId") Long categoryId, @Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CategoryItem ci where ci.category.id = :categoryId and ci.item.id in :itemIds")
+    int deleteItems(@Param("categoryId") Long categoryId, @Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CategoryItem ci where ci.category.id = :categoryId")
+    int deleteAllByCategoryId(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,26 @@
+package com.study.jpa.repository;
+
+import com.study.jpa.dto.CategorySubtreeItemDTO;
+import com.study.jpa.entity.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    // 하위 카테고리 전체와 상품을 select 1번으로 (상품이 없는 카테고리는 item 값이 null)
+    @Query("select new com.study.jpa.dto.CategorySubtreeItemDTO(d.id, d.name, c.depth, i.id, i.name, i.price)" +
+            " from CategoryClosure c" +
+            " join c.descendant d" +
+            " left join d.categoryItems ci" +
+            " left join ci.item i" +
+            " where c.ancestor.id = :categoryId" +
+            " order by c.depth, d.id, i.id")
+    List<CategorySubtreeItemDTO> findSubtreeItems(@Param("categoryId") Long categoryId);
+
+    // 트리 캐시 적재용 (id, name, parentId)
+    @Query("select c.id, c.name, p.id from Category c left join c.parent p")
+    List<Object[]> findAllNodes();
+}
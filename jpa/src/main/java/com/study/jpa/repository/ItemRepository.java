@@ -0,0 +1,20 @@
+package com.study.jpa.repository;
+
+import com.study.jpa.entity.item.Item;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    // 재고가 충분할 때만 차감 (조건부 update 한 번이라 동시 주문에도 재고가 음수가 되지 않는다)
+    // 영속성 컨텍스트의 Item 은 갱신되지 않으므로 차감 후에 조회할 것
+    @Modifying(flushAutomatically = true)
+    @Query("update Item i set i.stockQuantity = i.stockQuantity - :count where i.id = :id and i.stockQuantity >= :count")
+    int decreaseStock(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Item i set i.stockQuantity = i.stockQuantity + :count where i.id = :id")
+    int increaseStock(@Param("id") Long id, @Param("count") int count);
+}
@@ -0,0 +1,57 @@
+package com.study.jpa.repository;
+
+import com.study.jpa.dto.OrderItemQueryDTO;
+import com.study.jpa.dto.OrderQueryDTO;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+ * 주문 목록 화면용 조회
+ * 주문(회원, 배송) 1번 + 주문상품(상품) in 쿼리 1번으로 주문 수와 관계없이 select 2번
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderQueryRepository {
+
+    private final EntityManager em;
+
+    public List<OrderQueryDTO> findOrders(int offset, int limit) {
+        List<OrderQueryDTO> orders = em.createQuery(
+                        "select new com.study.jpa.dto.OrderQueryDTO(o.id, m.name, o.orderDate, o.status, d.address)" +
+                                " from Order o" +
+                                " join o.member m" +
+                                " join o.delivery d" +
+                                " order by o.id", OrderQueryDTO.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        List<Long> orderIds = orders.stream()
+                .map(OrderQueryDTO::getOrderId)
+                .toList();
+        Map<Long, List<OrderItemQueryDTO>> orderItemMap = findOrderItemMap(orderIds);
+        orders.forEach(o -> o.setOrderItems(orderItemMap.getOrDefault(o.getOrderId(), List.of())));
+        return orders;
+    }
+
+    private Map<Long, List<OrderItemQueryDTO>> findOrderItemMap(List<Long> orderIds) {
+        List<OrderItemQueryDTO> orderItems = em.createQuery(
+                        "select new com.study.jpa.dto.OrderItemQueryDTO(oi.order.id, i.name, oi.orderPrice, oi.count)" +
+                                " from OrderItem oi" +
+                                " join oi.item i" +
+                                " where oi.order.id in :orderIds" +
+                                " order by oi.id", OrderItemQueryDTO.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+        return orderItems.stream()
+                .collect(Collectors.groupingBy(OrderItemQueryDTO::getOrderId));
+    }
+}
@@ -0,0 +1,27 @@
+package com.study.jpa.repository;
+
+import com.study.jpa.entity.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // 주문 + 회원 + 배송 (select 1번)
+    @Query("select o from Order o join fetch o.member join fetch o.delivery where o.id = :id")
+    Optional<Order> findOrderWithMemberDelivery(@Param("id") Long id);
+
+    // 주문 + 회원 + 배송 + 주문상품 + 상품 (select 1번)
+    @EntityGraph("Order.withItems")
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findOrderWithItems(@Param("id") Long id);
+
+    // 주문 목록 (엔티티) - 컬렉션은 default_batch_fetch_size 로 in 쿼리 로딩
+    @Query("select o from Order o join fetch o.member join fetch o.delivery")
+    List<Order> findAllWithMemberDelivery(Pageable pageable);
+}
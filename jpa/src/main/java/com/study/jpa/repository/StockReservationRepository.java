@@ -0,0 +1,25 @@
+package com.study.jpa.repository;
+
+import com.study.jpa.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Query("select r from StockReservation r where r.expiresAt < :now")
+    List<StockReservation> findExpired(@Param("now") LocalDateTime now);
+
+    // 예약 블록에서 팔린 수량 (주문상품에 남긴 예약 id 로 합산)
+    @Query("select coalesce(sum(oi.count), 0) from OrderItem oi where oi.stockReservationId = :id")
+    long soldQuantity(@Param("id") Long id);
+
+    // 지운 쪽만 재고를 되돌린다 (여러 인스턴스가 같은 블록을 두 번 회수하지 않도록)
+    @Modifying(flushAutomatically = true)
+    @Query("delete from StockReservation r where r.id = :id")
+    int deleteReservation(@Param("id") Long id);
+}
@@ -0,0 +1,4 @@
+package com.study.jpa.service;
+
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,73 @@
+package com.study.jpa.service;
+
+import com.study.jpa.entity.Category;
+import com.study.jpa.entity.CategoryItem;
+import com.study.jpa.entity.item.Item;
+import com.study.jpa.repository.CategoryItemRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * 카테고리 상품 대량 연결/해제
+ * 연결은 chunkSize 단위로 이미 연결된 상품을 걸러낸 뒤 프록시로 insert (hibernate.jdbc.batch_size 로 묶여 나간다)
+ * 해제는 delete 한 번
+ */
+@Service
+@Transactional
+public class CategoryItemService {
+
+    private final EntityManager em;
+    private final CategoryItemRepository categoryItemRepository;
+    private final int chunkSize;
+
+    public CategoryItemService(EntityManager em,
+                               CategoryItemRepository categoryItemRepository,
+                               @Value("${category.item.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.categoryItemRepository = categoryItemRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    // 새로 연결된 상품 수 반환
+    public int attachItems(Long categoryId, Collection<Long> itemIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(itemIds));
+        int attached = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Set<Long> linked = new HashSet<>(categoryItemRepository.findLinkedItemIds(categoryId, chunk));
+
+            // clear 이후에도 쓸 수 있도록 chunk 마다 프록시를 다시 얻는다
+            Category category = em.getReference(Category.class, categoryId);
+            for (Long itemId : chunk) {
+                if (linked.add(itemId)) {
+                    em.persist(new CategoryItem(category, em.getReference(Item.class, itemId)));
+                    attached++;
+                }
+            }
+            em.flush();
+            em.clear();
+        }
+        return attached;
+    }
+
+    // 해제된 상품 수 반환
+    public int detachItems(Long categoryId, Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+        return categoryItemRepository.deleteItems(categoryId, itemIds);
+    }
+
+    public int detachAll(Long categoryId) {
+        return categoryItemRepository.deleteAllByCategoryId(categoryId);
+    }
+}
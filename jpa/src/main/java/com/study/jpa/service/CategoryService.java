@@ -0,0 +1,89 @@
+package com.study.jpa.service;
+
+import com.study.jpa.entity.Category;
+import com.study.jpa.entity.CategoryClosure;
+import com.study.jpa.repository.CategoryClosureRepository;
+import com.study.jpa.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 카테고리 생성/이동 시 parent 와 CategoryClosure 를 함께 갱신
+ * 변경이 커밋되면 CategoryTreeCache 가 다시 적재된다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository closureRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Category create(String name, Long parentId) {
+        Category category = new Category(name);
+        categoryRepository.save(category);
+
+        closureRepository.save(new CategoryClosure(category, category, 0));
+        if (parentId != null) {
+            Category parent = findCategory(parentId);
+            category.changeParent(parent);
+            // 부모의 조상들 -> 새 카테고리
+            for (CategoryClosure path : closureRepository.findAncestors(parentId)) {
+                closureRepository.save(new CategoryClosure(path.getAncestor(), category, path.getDepth() + 1));
+            }
+        }
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return category;
+    }
+
+    // 하위 트리 전체를 새 부모 아래로 이동 (newParentId 가 null 이면 최상위로)
+    public void move(Long categoryId, Long newParentId) {
+        List<CategoryClosure> subtree = closureRepository.findDescendants(categoryId);
+        List<Long> subtreeIds = subtree.stream()
+                .map(path -> path.getDescendant().getId())
+                .toList();
+        if (newParentId != null && subtreeIds.contains(newParentId)) {
+            throw new IllegalArgumentException("cannot move category " + categoryId + " under its own subtree");
+        }
+
+        // 하위 트리와 기존 조상들의 연결 끊기 (하위 트리 내부 경로는 유지)
+        List<Long> oldAncestorIds = closureRepository.findAncestors(categoryId).stream()
+                .filter(path -> path.getDepth() > 0)
+                .map(path -> path.getAncestor().getId())
+                .toList();
+        if (!oldAncestorIds.isEmpty()) {
+            closureRepository.deletePaths(oldAncestorIds, subtreeIds);
+        }
+
+        // deletePaths 가 영속성 컨텍스트를 비우므로 다시 조회
+        Category category = findCategory(categoryId);
+        Category newParent = newParentId == null ? null : findCategory(newParentId);
+        category.changeParent(newParent);
+
+        if (newParent != null) {
+            List<CategoryClosure> newPaths = new ArrayList<>();
+            List<CategoryClosure> newSubtree = closureRepository.findDescendants(categoryId);
+            for (CategoryClosure ancestor : closureRepository.findAncestors(newParentId)) {
+                for (CategoryClosure descendant : newSubtree) {
+                    newPaths.add(new CategoryClosure(ancestor.getAncestor(), descendant.getDescendant(),
+                            ancestor.getDepth() + descendant.getDepth() + 1));
+                }
+            }
+            closureRepository.saveAll(newPaths);
+        }
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+    }
+
+    private Category findCategory(Long categoryId) {
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("category not found: " + categoryId));
+    }
+}
@@ -0,0 +1,120 @@
+package com.study.jpa.service;
+
+import com.study.jpa.repository.CategoryRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 카테고리 트리 메모리 캐시
+ * 전체 카테고리를 select 1번으로 읽어 트리를 만들고, 조회는 DB 를 거치지 않는다.
+ * 카테고리가 바뀌면 커밋 후 새 트리로 통째로 교체 (읽는 쪽은 항상 완성된 트리만 본다)
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private static final Comparator<CategoryNode> BY_ID = Comparator.comparing(CategoryNode::getId);
+
+    private final CategoryRepository categoryRepository;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Tree tree;
+
+    public List<CategoryNode> getRoots() {
+        return tree().roots();
+    }
+
+    public CategoryNode get(Long categoryId) {
+        return tree().nodes().get(categoryId);
+    }
+
+    // 최상위부터 해당 카테고리까지 경로
+    public List<CategoryNode> getPath(Long categoryId) {
+        LinkedList<CategoryNode> path = new LinkedList<>();
+        Map<Long, CategoryNode> nodes = tree().nodes();
+        CategoryNode node = nodes.get(categoryId);
+        while (node != null) {
+            path.addFirst(node);
+            node = node.getParentId() == null ? null : nodes.get(node.getParentId());
+        }
+        return path;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+    }
+
+    // synchronized 안에서 DB 를 조회하면 가상 스레드가 캐리어에 고정되므로 ReentrantLock 사용
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            this.tree = load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Tree load() {
+        Map<Long, CategoryNode> nodes = new HashMap<>();
+        List<Object[]> rows = categoryRepository.findAllNodes();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            nodes.put(id, new CategoryNode(id, (String) row[1], (Long) row[2]));
+        }
+
+        List<CategoryNode> roots = new ArrayList<>();
+        for (CategoryNode node : nodes.values()) {
+            CategoryNode parent = node.getParentId() == null ? null : nodes.get(node.getParentId());
+            if (parent == null) {
+                roots.add(node);
+            } else {
+                parent.children.add(node);
+            }
+        }
+        roots.sort(BY_ID);
+        nodes.values().forEach(node -> node.children.sort(BY_ID));
+        return new Tree(Collections.unmodifiableMap(nodes), Collections.unmodifiableList(roots));
+    }
+
+    private Tree tree() {
+        Tree current = tree;
+        if (current == null) {
+            refresh();
+            current = tree;
+        }
+        return current;
+    }
+
+    private record Tree(Map<Long, CategoryNode> nodes, List<CategoryNode> roots) {
+    }
+
+    @Getter
+    public static class CategoryNode {
+        private final Long id;
+        private final String name;
+        private final Long parentId;
+        private final List<CategoryNode> children = new ArrayList<>();
+
+        CategoryNode(Long id, String name, Long parentId) {
+            this.id = id;
+            this.name = name;
+            this.parentId = parentId;
+        }
+
+        public List<CategoryNode> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.study.jpa.service;
+
+import com.study.jpa.entity.Delivery;
+import com.study.jpa.entity.Member;
+import com.study.jpa.entity.Order;
+import com.study.jpa.entity.OrderItem;
+import com.study.jpa.entity.item.Item;
+import com.study.jpa.exception.NotEnoughStockException;
+import com.study.jpa.repository.ItemRepository;
+import com.study.jpa.repository.MemberRepository;
+import com.study.jpa.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * 비동기 주문 접수
+ * 주문을 고정 크기 큐에 넣고, 작업 스레드 하나가 batchSize 만큼 모아 트랜잭션 하나로 저장한다.
+ * 커밋 비용이 주문 건수가 아니라 배치 건수에 비례하고, insert 는 hibernate.jdbc.batch_size 로 묶인다.
+ * 큐가 가득 차면 offerTimeout 만큼 기다린 뒤 RejectedExecutionException (호출 쪽 배압)
+ * StockReservationBuffer 가 맡은 인기 상품은 트랜잭션 밖에서 버퍼 예약분을 먼저 꺼낸다.
+ *
+ * 단계별 지연: order.intake.wait (큐 대기), order.intake.persist (배치 저장), order.intake.latency (접수~완료)
+ */
+@Slf4j
+@Component
+public class OrderIntakePipeline implements SmartLifecycle {
+
+    private final MemberRepository memberRepository;
+    private final ItemRepository itemRepository;
+    private final OrderRepository orderRepository;
+    private final StockReservationBuffer reservationBuffer;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int batchSize;
+    private final Duration offerTimeout;
+
+    private final Timer waitTimer;
+    private final Timer persistTimer;
+    private final Timer latencyTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejectedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderIntakePipeline(MemberRepository memberRepository,
+                               ItemRepository itemRepository,
+                               OrderRepository orderRepository,
+                               ObjectProvider<StockReservationBuffer> reservationBuffer,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${order.intake.queue-capacity:10000}") int queueCapacity,
+                               @Value("${order.intake.batch-size:100}") int batchSize,
+                               @Value("${order.intake.offer-timeout:100ms}") Duration offerTimeout) {
+        this.memberRepository = memberRepository;
+        this.itemRepository = itemRepository;
+        this.orderRepository = orderRepository;
+        this.reservationBuffer = reservationBuffer.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+
+        this.waitTimer = Timer.builder("order.intake.wait")
+                .description("Time an order waits in the intake queue")
+                .register(meterRegistry);
+        this.persistTimer = Timer.builder("order.intake.persist")
+                .description("Time to persist one batch of orders")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("order.intake.latency")
+                .description("Time from submit to completion")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("order.intake.batch.size")
+                .description("Orders persisted per transaction")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("order.intake.rejected")
+                .description("Orders rejected because the queue was full")
+                .register(meterRegistry);
+        meterRegistry.gauge("order.intake.queue.size", queue, BlockingQueue::size);
+    }
+
+    public CompletableFuture<Long> submit(Long memberId, Long itemId, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        if (!running) {
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("order intake is not running");
+        }
+        PendingOrder pending = new PendingOrder(memberId, itemId, count);
+        boolean accepted;
+        try {
+            accepted = queue.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("order intake queue is full");
+        }
+        // 넣는 사이에 stop() 이 큐를 비웠으면 아무도 꺼내지 않으므로 되돌려서 거절
+        if (!running && queue.remove(pending)) {
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("order intake is not running");
+        }
+        return pending.result;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "order-intake");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 종료 시 큐에 남은 주문까지 저장한 뒤 멈춘다
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingOrder pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new CancellationException("order intake stopped"));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("order intake batch failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<PendingOrder> batch) {
+        long dequeuedAt = System.nanoTime();
+        batch.forEach(pending -> waitTimer.record(dequeuedAt - pending.enqueuedAt, TimeUnit.NANOSECONDS));
+        batchSizeSummary.record(batch.size());
+
+        // 예약이나 저장이 실패해도 꺼낸 예약분을 되돌리고 모든 주문에 결과를 알린다
+        try {
+            reserve(batch);
+            persistTimer.record(() -> transactionTemplate.executeWithoutResult(status -> persist(batch)));
+        } catch (RuntimeException e) {
+            for (PendingOrder pending : batch) {
+                if (pending.failure == null) {
+                    pending.failure = e;
+                }
+            }
+        } finally {
+            release(batch);
+            complete(batch);
+        }
+    }
+
+    // 커밋 이후에 결과를 알린다
+    private void complete(List<PendingOrder> batch) {
+        long completedAt = System.nanoTime();
+        for (PendingOrder pending : batch) {
+            latencyTimer.record(completedAt - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+            if (pending.failure != null) {
+                pending.result.completeExceptionally(pending.failure);
+            } else if (pending.orderId == null) {
+                pending.result.completeExceptionally(new IllegalStateException("order was not persisted"));
+            } else {
+                pending.result.complete(pending.orderId);
+            }
+        }
+    }
+
+    // 버퍼 예약은 DB 차감 트랜잭션을 따로 쓰므로 저장 트랜잭션을 열기 전에 꺼낸다
+    private void reserve(List<PendingOrder> batch) {
+        if (reservationBuffer == null) {
+            return;
+        }
+        for (PendingOrder pending : batch) {
+            if (reservationBuffer.covers(pending.itemId)) {
+                pending.reservationId = reservationBuffer.reserve(pending.itemId, pending.count);
+                if (pending.reservationId == null) {
+                    pending.failure = new NotEnoughStockException(pending.itemId, pending.count);
+                }
+            }
+        }
+    }
+
+    // 저장되지 않은 주문의 예약분은 버퍼에 되돌림
+    private void release(List<PendingOrder> batch) {
+        for (PendingOrder pending : batch) {
+            if (pending.reservationId != null && pending.failure != null) {
+                reservationBuffer.release(pending.itemId, pending.reservationId, pending.count);
+            }
+        }
+    }
+
+    private void persist(List<PendingOrder> batch) {
+        Map<Long, Member> members = memberRepository.findAllById(
+                        batch.stream().map(pending -> pending.memberId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        Map<Long, Item> items = itemRepository.findAllById(
+                        batch.stream().map(pending -> pending.itemId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        Map<Long, List<PendingOrder>> byItem = new LinkedHashMap<>();
+        for (PendingOrder pending : batch) {
+            if (pending.failure != null) {
+                continue;
+            }
+            if (!members.containsKey(pending.memberId)) {
+                pending.failure = new IllegalArgumentException("member not found: " + pending.memberId);
+            } else if (!items.containsKey(pending.itemId)) {
+                pending.failure = new IllegalArgumentException("item not found: " + pending.itemId);
+            } else if (pending.reservationId == null) {
+                byItem.computeIfAbsent(pending.itemId, id -> new ArrayList<>()).add(pending);
+            }
+        }
+
+        byItem.forEach(this::decreaseStock);
+
+        for (PendingOrder pending : batch) {
+            if (pending.failure != null) {
+                continue;
+            }
+            Member member = members.get(pending.memberId);
+            Item item = items.get(pending.itemId);
+            Order order = Order.createOrder(member, new Delivery(member.getAddress()),
+                    OrderItem.createOrderItem(item, item.getPrice(), pending.count, pending.reservationId));
+            orderRepository.save(order);
+            pending.orderId = order.getId();
+        }
+    }
+
+    // 상품별 합계로 update 한 번, 재고가 모자라면 주문 단위로 나눠서 차감
+    private void decreaseStock(Long itemId, List<PendingOrder> orders) {
+        int total = orders.stream().mapToInt(pending -> pending.count).sum();
+        if (itemRepository.decreaseStock(itemId, total) == 1) {
+            return;
+        }
+        for (PendingOrder pending : orders) {
+            if (itemRepository.decreaseStock(itemId, pending.count) == 0) {
+                pending.failure = new NotEnoughStockException(itemId, pending.count);
+            }
+        }
+    }
+
+    private static class PendingOrder {
+        private final Long memberId;
+        private final Long itemId;
+        private final int count;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+        // 작업 스레드에서만 변경
+        private Long reservationId;
+        private Long orderId;
+        private RuntimeException failure;
+
+        PendingOrder(Long memberId, Long itemId, int count) {
+            this.memberId = memberId;
+            this.itemId = itemId;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.study.jpa.service;
+
+import com.study.jpa.entity.Delivery;
+import com.study.jpa.entity.Member;
+import com.study.jpa.entity.Order;
+import com.study.jpa.entity.OrderItem;
+import com.study.jpa.entity.item.Item;
+import com.study.jpa.exception.NotEnoughStockException;
+import com.study.jpa.repository.ItemRepository;
+import com.study.jpa.repository.MemberRepository;
+import com.study.jpa.repository.OrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * 주문 생성
+ * 재고는 조건부 update 로 차감하고, StockReservationBuffer 가 맡은 인기 상품이면 메모리 예약분에서 차감한다.
+ * 예약은 트랜잭션 밖에서 먼저 받아 커넥션을 두 개 잡고 기다리는 일이 없도록 한다.
+ */
+@Service
+public class OrderService {
+
+    private final MemberRepository memberRepository;
+    private final ItemRepository itemRepository;
+    private final OrderRepository orderRepository;
+    private final StockReservationBuffer reservationBuffer;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderService(MemberRepository memberRepository,
+                        ItemRepository itemRepository,
+                        OrderRepository orderRepository,
+                        ObjectProvider<StockReservationBuffer> reservationBuffer,
+                        PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.itemRepository = itemRepository;
+        this.orderRepository = orderRepository;
+        this.reservationBuffer = reservationBuffer.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Long order(Long memberId, Long itemId, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        if (reservationBuffer == null || !reservationBuffer.covers(itemId)) {
+            return transactionTemplate.execute(status -> {
+                if (itemRepository.decreaseStock(itemId, count) == 0) {
+                    throw new NotEnoughStockException(itemId, count);
+                }
+                return createOrder(memberId, itemId, count, null);
+            });
+        }
+
+        Long reservationId = reservationBuffer.reserve(itemId, count);
+        if (reservationId == null) {
+            throw new NotEnoughStockException(itemId, count);
+        }
+        try {
+            return transactionTemplate.execute(status -> createOrder(memberId, itemId, count, reservationId));
+        } catch (RuntimeException e) {
+            reservationBuffer.release(itemId, reservationId, count);
+            throw e;
+        }
+    }
+
+    private Long createOrder(Long memberId, Long itemId, int count, Long reservationId) {
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new IllegalArgumentException("member not found: " + memberId));
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("item not found: " + itemId));
+
+        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count, reservationId);
+        Order order = Order.createOrder(member, new Delivery(member.getAddress()), orderItem);
+        orderRepository.save(order);
+        return order.getId();
+    }
+}
@@ -0,0 +1,314 @@
+package com.study.jpa.service;
+
+import com.study.jpa.entity.StockReservation;
+import com.study.jpa.repository.ItemRepository;
+import com.study.jpa.repository.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 인기 상품 재고 예약 버퍼 (stock.reservation.enabled, stock.reservation.hot-items 의 상품만)
+ * DB 재고를 blockSize 단위로 미리 차감해두고 주문은 메모리 잔량에서 꺼내 쓴다.
+ * 같은 상품 주문이 한 행의 update 락을 두고 줄 서지 않도록 하기 위함.
+ * 락은 상품 id 로 나눈 stripes 개만 사용하고, DB 차감은 락 밖에서 상품마다 한 스레드만 한다.
+ *
+ * 차감한 블록은 StockReservation 으로 남기고 주문상품에 블록 id 를 기록한다.
+ * 블록은 ttl 이 지나면 (비정상 종료로 returnAll 이 실행되지 않았어도) 어느 인스턴스에서든
+ * 팔리지 않은 수량만큼 재고로 되돌린다. 만료 grace 전부터는 블록에서 꺼내지 않아 진행 중인 주문이 커밋할 시간을 둔다.
+ * 블록 차감은 주문 트랜잭션과 별개로 바로 커밋된다 (주문이 롤백되면 release 로 메모리 잔량에 되돌림)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stock.reservation.enabled", havingValue = "true")
+public class StockReservationBuffer implements InitializingBean, DisposableBean {
+
+    private final ItemRepository itemRepository;
+    private final StockReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> hotItems;
+    private final int blockSize;
+    private final Duration ttl;
+    private final Duration grace;
+    private final Duration reclaimInterval;
+    private final ReentrantLock[] stripes;
+    private final Condition[] refilled;
+    // 상품 id -> 예약 블록 (해당 stripe 락을 잡고서만 변경)
+    private final Map<Long, List<Lease>> leases = new ConcurrentHashMap<>();
+    // DB 에서 블록을 차감 중인 상품 id
+    private final Set<Long> refilling = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-reservation-reclaim");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StockReservationBuffer(ItemRepository itemRepository,
+                                  StockReservationRepository reservationRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${stock.reservation.hot-items:}") Set<Long> hotItems,
+                                  @Value("${stock.reservation.block-size:100}") int blockSize,
+                                  @Value("${stock.reservation.stripes:64}") int stripes,
+                                  @Value("${stock.reservation.ttl:5m}") Duration ttl,
+                                  @Value("${stock.reservation.grace:30s}") Duration grace,
+                                  @Value("${stock.reservation.reclaim-interval:1m}") Duration reclaimInterval) {
+        this.itemRepository = itemRepository;
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.hotItems = Set.copyOf(hotItems);
+        this.blockSize = blockSize;
+        this.ttl = ttl;
+        this.grace = grace;
+        this.reclaimInterval = reclaimInterval;
+        this.stripes = new ReentrantLock[stripes];
+        this.refilled = new Condition[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+            this.refilled[i] = this.stripes[i].newCondition();
+        }
+    }
+
+    // 버퍼를 쓰는 상품인지 (아니면 호출 쪽에서 바로 DB 재고를 차감)
+    public boolean covers(Long itemId) {
+        return hotItems.contains(itemId);
+    }
+
+    // 꺼낸 블록의 id, 재고가 모자라면 null
+    public Long reserve(Long itemId, int count) {
+        int stripe = stripeOf(itemId);
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            while (true) {
+                Long reservationId = take(itemId, count);
+                if (reservationId != null) {
+                    return reservationId;
+                }
+                if (refilling.add(itemId)) {
+                    break;
+                }
+                // 다른 스레드가 같은 상품 블록을 차감하는 중이면 끝난 뒤 다시 시도
+                refilled[stripe].awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // DB 차감은 락 밖에서 (같은 stripe 의 다른 상품 주문이 기다리지 않도록)
+        Lease lease = null;
+        try {
+            lease = reserveBlock(itemId, count);
+        } finally {
+            lock.lock();
+            try {
+                refilling.remove(itemId);
+                if (lease != null) {
+                    leases.computeIfAbsent(itemId, id -> new ArrayList<>()).add(lease);
+                }
+                refilled[stripe].signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return lease == null ? retake(itemId, count) : lease.id;
+    }
+
+    // 주문이 저장되지 않았으면 꺼낸 수량을 블록에 되돌림 (이미 회수된 블록이면 회수할 때 팔리지 않은 것으로 계산됨)
+    public void release(Long itemId, Long reservationId, int count) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            for (Lease lease : leases.getOrDefault(itemId, List.of())) {
+                if (lease.id.equals(reservationId)) {
+                    lease.remaining += count;
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBudget(Long itemId) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            return leases.getOrDefault(itemId, List.of()).stream().mapToInt(lease -> lease.remaining).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 만료된 블록(다른 인스턴스 것 포함)의 팔리지 않은 수량을 DB 로 되돌림
+    public int reclaimExpired(LocalDateTime now) {
+        int returned = 0;
+        for (StockReservation reservation : reservationRepository.findExpired(now)) {
+            forget(reservation.getItemId(), reservation.getId());
+            returned += reclaim(reservation.getId(), reservation.getItemId(), reservation.getQuantity());
+        }
+        return returned;
+    }
+
+    // 예약해두고 팔지 않은 재고를 DB 로 되돌림
+    public void returnAll() {
+        Map<Long, Integer> returned = new HashMap<>();
+        for (Long itemId : leases.keySet()) {
+            List<Lease> itemLeases;
+            ReentrantLock lock = lockFor(itemId);
+            lock.lock();
+            try {
+                itemLeases = leases.remove(itemId);
+            } finally {
+                lock.unlock();
+            }
+            if (itemLeases == null) {
+                continue;
+            }
+            for (Lease lease : itemLeases) {
+                int unsold = reclaim(lease.id, itemId, lease.quantity);
+                if (unsold > 0) {
+                    returned.merge(itemId, unsold, Integer::sum);
+                }
+            }
+        }
+        if (!returned.isEmpty()) {
+            log.info("returned reserved stock {}", returned);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = reclaimInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reclaimExpired, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        returnAll();
+    }
+
+    private void reclaimExpired() {
+        try {
+            int returned = reclaimExpired(LocalDateTime.now());
+            if (returned > 0) {
+                log.info("reclaimed {} unsold reserved stock from expired reservations", returned);
+            }
+        } catch (RuntimeException e) {
+            log.warn("stock reservation reclaim failed", e);
+        }
+    }
+
+    // 블록 단위로 먼저 시도하고, 남은 재고가 블록보다 적으면 필요한 만큼만 차감
+    private Lease reserveBlock(Long itemId, int needed) {
+        int block = Math.max(needed, blockSize);
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        return transactionTemplate.execute(status -> {
+            int reserved;
+            if (block > needed && itemRepository.decreaseStock(itemId, block) == 1) {
+                reserved = block;
+            } else if (itemRepository.decreaseStock(itemId, needed) == 1) {
+                reserved = needed;
+            } else {
+                return null;
+            }
+            StockReservation reservation = reservationRepository.save(new StockReservation(itemId, reserved, expiresAt));
+            Lease lease = new Lease(reservation.getId(), reserved, expiresAt.minus(grace));
+            lease.remaining -= needed;
+            return lease;
+        });
+    }
+
+    // 팔린 수량은 주문상품으로 계산하므로 메모리 잔량과 관계없이 정확하다
+    private int reclaim(Long reservationId, Long itemId, int quantity) {
+        Integer unsold = transactionTemplate.execute(status -> {
+            if (reservationRepository.deleteReservation(reservationId) == 0) {
+                return 0;
+            }
+            int remaining = quantity - (int) reservationRepository.soldQuantity(reservationId);
+            if (remaining > 0) {
+                itemRepository.increaseStock(itemId, remaining);
+            }
+            return Math.max(remaining, 0);
+        });
+        return unsold == null ? 0 : unsold;
+    }
+
+    private Long retake(Long itemId, int count) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            return take(itemId, count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // stripe 락을 잡고 호출
+    private Long take(Long itemId, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Lease lease : leases.getOrDefault(itemId, List.of())) {
+            if (lease.remaining >= count && now.isBefore(lease.usableUntil)) {
+                lease.remaining -= count;
+                return lease.id;
+            }
+        }
+        return null;
+    }
+
+    private void forget(Long itemId, Long reservationId) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            List<Lease> itemLeases = leases.get(itemId);
+            if (itemLeases != null) {
+                itemLeases.removeIf(lease -> lease.id.equals(reservationId));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(Long itemId) {
+        return stripes[stripeOf(itemId)];
+    }
+
+    private int stripeOf(Long itemId) {
+        return Math.floorMod(itemId.hashCode(), stripes.length);
+    }
+
+    private static class Lease {
+        private final Long id;
+        private final int quantity;
+        private final LocalDateTime usableUntil;
+        // stripe 락을 잡고서만 변경
+        private int remaining;
+
+        Lease(Long id, int quantity, LocalDateTime usableUntil) {
+            this.id = id;
+            this.quantity = quantity;
+            this.usableUntil = usableUntil;
+            this.remaining = quantity;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.study.jpa.repository;
+
+import com.study.common.config.QueryCountHolder;
+import com.study.jpa.dto.OrderQueryDTO;
+import com.study.jpa.entity.Address;
+import com.study.jpa.entity.Delivery;
+import com.study.jpa.entity.Member;
+import com.study.jpa.entity.Order;
+import com.study.jpa.entity.OrderItem;
+import com.study.jpa.entity.item.Book;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.common.config.QueryCountAssertions.assertSelectCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderQueryRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderQueryRepository orderQueryRepository;
+    @Autowired
+    OrderRepository orderRepository;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 1; i <= 3; i++) {
+            Member member = new Member();
+            member.setName("queryMember" + i);
+            member.setAddress(new Address("city" + i, "street", "12345"));
+
+            em.persist(Order.createOrder(member,
+                    new Delivery(member.getAddress()),
+                    OrderItem.createOrderItem(book("book" + i + "-1"), 10000, 1),
+                    OrderItem.createOrderItem(book("book" + i + "-2"), 20000, 2)));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void findOrders() {
+        QueryCountHolder.start();
+        List<OrderQueryDTO> orders = orderQueryRepository.findOrders(0, 100);
+
+        // 주문 1번 + 주문상품 in 1번
+        assertSelectCount(2);
+        assertThat(orders).extracting("memberName")
+                .contains("queryMember1", "queryMember2", "queryMember3");
+        OrderQueryDTO order = orders.stream()
+                .filter(o -> o.getMemberName().equals("queryMember1"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(order.getAddress().getCity()).isEqualTo("city1");
+        assertThat(order.getOrderItems()).extracting("itemName")
+                .containsExactly("book1-1", "book1-2");
+    }
+
+    @Test
+    public void findAllWithMemberDeliveryBatchFetch() {
+        QueryCountHolder.start();
+        List<Order> orders = orderRepository.findAllWithMemberDelivery(PageRequest.of(0, 100, Sort.by("id")));
+        orders.forEach(o -> o.getOrderItems().forEach(oi -> oi.getItem().getName()));
+
+        // 주문 1번 + 주문상품 in 1번 + 상품 in 1번
+        assertSelectCount(3);
+        assertThat(orders).hasSizeGreaterThanOrEqualTo(3);
+    }
+
+    private Book book(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        return book;
+    }
+}
@@ -0,0 +1,97 @@
+package com.study.jpa.repository;
+
+import com.study.common.config.QueryCountHolder;
+import com.study.jpa.entity.Address;
+import com.study.jpa.entity.Delivery;
+import com.study.jpa.entity.DeliveryStatus;
+import com.study.jpa.entity.Member;
+import com.study.jpa.entity.Order;
+import com.study.jpa.entity.OrderItem;
+import com.study.jpa.entity.item.Book;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.study.common.config.QueryCountAssertions.assertSelectCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderRepository orderRepository;
+
+    Long orderId;
+
+    @BeforeEach
+    public void before() {
+        Member member = new Member();
+        member.setName("orderMember");
+        member.setAddress(new Address("seoul", "street", "12345"));
+
+        Order order = Order.createOrder(member,
+                new Delivery(member.getAddress()),
+                OrderItem.createOrderItem(book("JPA1", 10000), 10000, 1),
+                OrderItem.createOrderItem(book("JPA2", 20000), 20000, 2));
+        em.persist(order);
+        orderId = order.getId();
+
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void findByIdIsLazy() {
+        QueryCountHolder.start();
+        Order order = orderRepository.findById(orderId).orElseThrow();
+
+        // 연관 엔티티는 조회하지 않는다
+        assertSelectCount(1);
+
+        order.getMember().getName();
+        assertSelectCount(2);
+    }
+
+    @Test
+    public void findOrderWithMemberDelivery() {
+        QueryCountHolder.start();
+        Order order = orderRepository.findOrderWithMemberDelivery(orderId).orElseThrow();
+
+        assertThat(order.getMember().getName()).isEqualTo("orderMember");
+        assertThat(order.getDelivery().getStatus()).isEqualTo(DeliveryStatus.READY);
+        assertSelectCount(1);
+    }
+
+    @Test
+    public void findOrderWithItems() {
+        QueryCountHolder.start();
+        Order order = orderRepository.findOrderWithItems(orderId).orElseThrow();
+
+        assertThat(order.getMember().getName()).isEqualTo("orderMember");
+        assertThat(order.getDelivery().getStatus()).isEqualTo(DeliveryStatus.READY);
+        assertThat(order.getOrderItems())
+                .extracting(orderItem -> orderItem.getItem().getName())
+                .containsExactlyInAnyOrder("JPA1", "JPA2");
+        assertSelectCount(1);
+    }
+
+    private Book book(String name, int price) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(100);
+        return book;
+    }
+}
@@ -0,0 +1,80 @@
+package com.study.jpa.service;
+
+import com.study.common.config.QueryCountHolder;
+import com.study.jpa.entity.Category;
+import com.study.jpa.entity.item.Book;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.study.common.config.QueryCountAssertions.assertDeleteCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class CategoryItemServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    CategoryItemService categoryItemService;
+
+    Long categoryId;
+    List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        Category category = new Category("bulk");
+        em.persist(category);
+        categoryId = category.getId();
+
+        for (int i = 0; i < 2500; i++) {
+            Book book = new Book();
+            book.setName("bulkBook" + i);
+            book.setPrice(1000);
+            em.persist(book);
+            itemIds.add(book.getId());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void attachItems() {
+        assertThat(categoryItemService.attachItems(categoryId, itemIds.subList(0, 100))).isEqualTo(100);
+
+        // 이미 연결된 상품은 건너뛴다
+        assertThat(categoryItemService.attachItems(categoryId, itemIds)).isEqualTo(2400);
+        assertThat(linkedCount()).isEqualTo(2500);
+    }
+
+    @Test
+    public void detachItems() {
+        categoryItemService.attachItems(categoryId, itemIds);
+
+        QueryCountHolder.start();
+        int detached = categoryItemService.detachItems(categoryId, itemIds.subList(0, 2000));
+
+        assertDeleteCount(1);
+        assertThat(detached).isEqualTo(2000);
+        assertThat(linkedCount()).isEqualTo(500);
+    }
+
+    private long linkedCount() {
+        return em.createQuery("select count(ci) from CategoryItem ci where ci.category.id = :categoryId", Long.class)
+                .setParameter("categoryId", categoryId)
+                .getSingleResult();
+    }
+}
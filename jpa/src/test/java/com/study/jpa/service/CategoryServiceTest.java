@@ -0,0 +1,122 @@
+package com.study.jpa.service;
+
+import com.study.common.config.QueryCountHolder;
+import com.study.jpa.dto.CategorySubtreeItemDTO;
+import com.study.jpa.entity.Category;
+import com.study.jpa.entity.CategoryClosure;
+import com.study.jpa.entity.item.Book;
+import com.study.jpa.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.common.config.QueryCountAssertions.assertSelectCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class CategoryServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    CategoryService categoryService;
+    @Autowired
+    CategoryRepository categoryRepository;
+    @Autowired
+    CategoryTreeCache categoryTreeCache;
+
+    Long bookId;
+    Long itId;
+    Long javaId;
+    Long novelId;
+
+    @BeforeEach
+    public void before() {
+        bookId = categoryService.create("book", null).getId();
+        itId = categoryService.create("it", bookId).getId();
+        javaId = categoryService.create("java", itId).getId();
+        novelId = categoryService.create("novel", bookId).getId();
+
+        em.find(Category.class, javaId).addItem(book("JPA"));
+        em.find(Category.class, novelId).addItem(book("novel1"));
+
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void closure() {
+        List<CategoryClosure> paths = em.createQuery(
+                        "select c from CategoryClosure c where c.descendant.id = :id order by c.depth", CategoryClosure.class)
+                .setParameter("id", javaId)
+                .getResultList();
+
+        assertThat(paths).extracting(path -> path.getAncestor().getId())
+                .containsExactly(javaId, itId, bookId);
+        assertThat(paths).extracting("depth").containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void findSubtreeItems() {
+        QueryCountHolder.start();
+        List<CategorySubtreeItemDTO> rows = categoryRepository.findSubtreeItems(bookId);
+
+        assertSelectCount(1);
+        assertThat(rows).extracting("categoryName").contains("book", "it", "java", "novel");
+        assertThat(rows).extracting("itemName").contains("JPA", "novel1");
+    }
+
+    @Test
+    public void move() {
+        // java: book > it > java  ->  book > novel > java
+        categoryService.move(javaId, novelId);
+        em.flush();
+        em.clear();
+
+        assertThat(categoryRepository.findSubtreeItems(itId))
+                .extracting("categoryName").containsExactly("it");
+        assertThat(categoryRepository.findSubtreeItems(novelId))
+                .extracting("itemName").contains("JPA", "novel1");
+        assertThat(em.find(Category.class, javaId).getParent().getId()).isEqualTo(novelId);
+    }
+
+    @Test
+    public void moveUnderOwnSubtree() {
+        assertThatThrownBy(() -> categoryService.move(itId, javaId))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void treeCache() {
+        categoryTreeCache.refresh();
+
+        QueryCountHolder.start();
+        assertThat(categoryTreeCache.getPath(javaId)).extracting("name")
+                .containsExactly("book", "it", "java");
+        assertThat(categoryTreeCache.get(bookId).getChildren()).extracting("name")
+                .containsExactly("it", "novel");
+        assertSelectCount(0);
+    }
+
+    private Book book(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        em.persist(book);
+        return book;
+    }
+}
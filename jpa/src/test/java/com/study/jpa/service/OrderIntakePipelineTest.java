@@ -0,0 +1,318 @@
+package com.study.jpa.service;
+
+import com.study.jpa.entity.Address;
+import com.study.jpa.entity.Member;
+import com.study.jpa.entity.item.Book;
+import com.study.jpa.entity.item.Item;
+import com.study.jpa.exception.NotEnoughStockException;
+import com.study.jpa.repository.ItemRepository;
+import com.study.jpa.repository.MemberRepository;
+import com.study.jpa.repository.OrderRepository;
+import com.study.jpa.repository.StockReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 작업 스레드가 커밋하므로 @Transactional 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest
+class OrderIntakePipelineTest {
+
+    private static final int STOCK = 300;
+    private static final int ORDERS = 500;
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderIntakePipeline orderIntakePipeline;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    StockReservationRepository reservationRepository;
+    @Autowired
+    ObjectProvider<StockReservationBuffer> reservationBuffer;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    TransactionTemplate tx;
+    Long memberId;
+    Long itemId;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Member member = new Member();
+            member.setName("intakeMember");
+            member.setAddress(new Address("seoul", "street", "12345"));
+            em.persist(member);
+
+            Book book = new Book();
+            book.setName("intakeBook");
+            book.setPrice(10000);
+            book.setStockQuantity(STOCK);
+            em.persist(book);
+
+            memberId = member.getId();
+            itemId = book.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            List<Long> deliveryIds = em.createQuery(
+                            "select o.delivery.id from Order o where o.member.id = :memberId", Long.class)
+                    .setParameter("memberId", memberId)
+                    .getResultList();
+            em.createQuery("delete from OrderItem oi where oi.item.id = :itemId")
+                    .setParameter("itemId", itemId)
+                    .executeUpdate();
+            em.createQuery("delete from Order o where o.member.id = :memberId")
+                    .setParameter("memberId", memberId)
+                    .executeUpdate();
+            if (!deliveryIds.isEmpty()) {
+                em.createQuery("delete from Delivery d where d.id in :ids")
+                        .setParameter("ids", deliveryIds)
+                        .executeUpdate();
+            }
+            em.createQuery("delete from StockReservation r where r.itemId = :itemId")
+                    .setParameter("itemId", itemId)
+                    .executeUpdate();
+            em.createQuery("delete from Item i where i.id = :itemId")
+                    .setParameter("itemId", itemId)
+                    .executeUpdate();
+            em.createQuery("delete from Member m where m.id = :memberId")
+                    .setParameter("memberId", memberId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    public void submit() throws Exception {
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            results.add(orderIntakePipeline.submit(memberId, itemId, 1));
+        }
+
+        int sold = 0;
+        int rejected = 0;
+        for (CompletableFuture<Long> result : results) {
+            try {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isNotNull();
+                sold++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(NotEnoughStockException.class);
+                rejected++;
+            }
+        }
+
+        assertThat(sold).isEqualTo(STOCK);
+        assertThat(rejected).isEqualTo(ORDERS - STOCK);
+        int stock = tx.execute(status -> itemRepository.findById(itemId).map(Item::getStockQuantity).orElseThrow());
+        assertThat(stock).isZero();
+        // 여러 건이 한 트랜잭션으로 저장된다
+        assertThat(meterRegistry.get("order.intake.batch.size").summary().max()).isGreaterThan(1);
+    }
+
+    @Test
+    public void submitThroughReservationBuffer() throws Exception {
+        StockReservationBuffer buffer = new StockReservationBuffer(itemRepository, reservationRepository,
+                transactionManager, Set.of(itemId), 50, 16, Duration.ofMinutes(5), Duration.ZERO, Duration.ofMinutes(1));
+        OrderIntakePipeline pipeline = new OrderIntakePipeline(memberRepository, itemRepository, orderRepository,
+                new StaticListableBeanFactory(Map.of("stockReservationBuffer", buffer))
+                        .getBeanProvider(StockReservationBuffer.class),
+                transactionManager, new SimpleMeterRegistry(), ORDERS, 10, Duration.ofMillis(10));
+        pipeline.start();
+        try {
+            List<CompletableFuture<Long>> results = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                results.add(pipeline.submit(memberId, itemId, 1));
+            }
+
+            int sold = 0;
+            for (CompletableFuture<Long> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    sold++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(NotEnoughStockException.class);
+                }
+            }
+
+            assertThat(sold).isEqualTo(STOCK);
+            assertThat(buffer.getBudget(itemId)).isZero();
+            // 주문상품마다 꺼낸 블록 id 가 남는다
+            long reservedItems = tx.execute(status -> em.createQuery(
+                            "select count(oi) from OrderItem oi where oi.item.id = :itemId and oi.stockReservationId is not null", Long.class)
+                    .setParameter("itemId", itemId)
+                    .getSingleResult());
+            assertThat(reservedItems).isEqualTo(STOCK);
+        } finally {
+            pipeline.stop();
+        }
+        int stock = tx.execute(status -> itemRepository.findById(itemId).map(Item::getStockQuantity).orElseThrow());
+        assertThat(stock).isZero();
+    }
+
+    @Test
+    public void unknownMember() {
+        CompletableFuture<Long> result = orderIntakePipeline.submit(-1L, itemId, 1);
+
+        assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void queueFull() throws Exception {
+        CountDownLatch reserving = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        StubBuffer buffer = new StubBuffer(call -> {
+            reserving.countDown();
+            await(proceed);
+            return (long) call;
+        });
+        OrderIntakePipeline pipeline = pipeline(buffer, 1);
+        pipeline.start();
+        try {
+            // 작업 스레드가 첫 주문을 예약하는 동안 큐(용량 1)가 찬다
+            CompletableFuture<Long> first = pipeline.submit(memberId, itemId, 1);
+            assertThat(reserving.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Long> second = pipeline.submit(memberId, itemId, 1);
+
+            assertThatThrownBy(() -> pipeline.submit(memberId, itemId, 1))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            proceed.countDown();
+            assertThat(first.get(30, TimeUnit.SECONDS)).isNotNull();
+            assertThat(second.get(30, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            proceed.countDown();
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    public void rejectWhenNotRunning() {
+        OrderIntakePipeline pipeline = new OrderIntakePipeline(memberRepository, itemRepository, orderRepository,
+                reservationBuffer, transactionManager, new SimpleMeterRegistry(), 10, 10, Duration.ofMillis(10));
+
+        assertThatThrownBy(() -> pipeline.submit(memberId, itemId, 1))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        pipeline.start();
+        pipeline.stop();
+        assertThatThrownBy(() -> pipeline.submit(memberId, itemId, 1))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void reservationFailureCompletesBatch() throws Exception {
+        CountDownLatch reserving = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        // 1: 첫 배치를 붙잡아 두고, 2: 예약 성공, 3: 예약 중 DB 오류
+        StubBuffer buffer = new StubBuffer(call -> switch (call) {
+            case 1 -> {
+                reserving.countDown();
+                await(proceed);
+                yield 1L;
+            }
+            case 2 -> 2L;
+            default -> throw new DataAccessResourceFailureException("reservation failed");
+        });
+        OrderIntakePipeline pipeline = pipeline(buffer, 10);
+        pipeline.start();
+        try {
+            CompletableFuture<Long> first = pipeline.submit(memberId, itemId, 1);
+            assertThat(reserving.await(10, TimeUnit.SECONDS)).isTrue();
+            // 작업 스레드가 붙잡혀 있는 동안 들어온 두 주문은 같은 배치로 처리된다
+            CompletableFuture<Long> reserved = pipeline.submit(memberId, itemId, 1);
+            CompletableFuture<Long> failed = pipeline.submit(memberId, itemId, 1);
+            proceed.countDown();
+
+            assertThat(first.get(30, TimeUnit.SECONDS)).isNotNull();
+            assertThatThrownBy(() -> reserved.get(30, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+            assertThatThrownBy(() -> failed.get(30, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+            // 저장되지 않은 주문이 꺼낸 예약분은 되돌린다
+            assertThat(buffer.released).containsExactly(2L);
+        } finally {
+            proceed.countDown();
+            pipeline.stop();
+        }
+    }
+
+    private OrderIntakePipeline pipeline(StockReservationBuffer buffer, int queueCapacity) {
+        return new OrderIntakePipeline(memberRepository, itemRepository, orderRepository,
+                new StaticListableBeanFactory(Map.of("stockReservationBuffer", buffer))
+                        .getBeanProvider(StockReservationBuffer.class),
+                transactionManager, new SimpleMeterRegistry(), queueCapacity, 10, Duration.ofMillis(10));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // reserve 호출 순서(1부터)마다 정해진 결과를 돌려주고, release 된 예약 id 를 기록
+    private class StubBuffer extends StockReservationBuffer {
+
+        private final IntFunction<Long> reservations;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<Long> released = new CopyOnWriteArrayList<>();
+
+        StubBuffer(IntFunction<Long> reservations) {
+            super(itemRepository, reservationRepository, transactionManager, Set.of(itemId),
+                    50, 16, Duration.ofMinutes(5), Duration.ZERO, Duration.ofMinutes(1));
+            this.reservations = reservations;
+        }
+
+        @Override
+        public Long reserve(Long itemId, int count) {
+            return reservations.apply(calls.incrementAndGet());
+        }
+
+        @Override
+        public void release(Long itemId, Long reservationId, int count) {
+            released.add(reservationId);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.study.jpa.service;
+
+import com.study.jpa.entity.Address;
+import com.study.jpa.entity.Member;
+import com.study.jpa.entity.item.Book;
+import com.study.jpa.entity.item.Item;
+import com.study.jpa.exception.NotEnoughStockException;
+import com.study.jpa.repository.ItemRepository;
+import com.study.jpa.repository.MemberRepository;
+import com.study.jpa.repository.OrderRepository;
+import com.study.jpa.repository.StockReservationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 동시 주문 시 재고 초과 판매가 없는지 확인
+ * 여러 스레드가 각자 커밋해야 하므로 @Transactional 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+    private static final int STOCK = 1000;
+    private static final int ORDERS = 3000;
+    private static final int THREADS = 32;
+    private static final int BLOCK_SIZE = 50;
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    OrderService orderService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    StockReservationRepository reservationRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Long memberId;
+    Long itemId;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Member member = new Member();
+            member.setName("stockMember");
+            member.setAddress(new Address("seoul", "street", "12345"));
+            em.persist(member);
+
+            Book book = new Book();
+            book.setName("hotBook");
+            book.setPrice(10000);
+            book.setStockQuantity(STOCK);
+            em.persist(book);
+
+            memberId = member.getId();
+            itemId = book.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            List<Long> deliveryIds = em.createQuery(
+                            "select o.delivery.id from Order o where o.member.id = :memberId", Long.class)
+                    .setParameter("memberId", memberId)
+                    .getResultList();
+            em.createQuery("delete from OrderItem oi where oi.item.id = :itemId")
+                    .setParameter("itemId", itemId)
+                    .executeUpdate();
+            em.createQuery("delete from Order o where o.member.id = :memberId")
+                    .setParameter("memberId", memberId)
+                    .executeUpdate();
+            if (!deliveryIds.isEmpty()) {
+                em.createQuery("delete from Delivery d where d.id in :ids")
+                        .setParameter("ids", deliveryIds)
+                        .executeUpdate();
+            }
+            em.createQuery("delete from StockReservation r where r.itemId = :itemId")
+                    .setParameter("itemId", itemId)
+                    .executeUpdate();
+            em.createQuery("delete from Item i where i.id = :itemId")
+                    .setParameter("itemId", itemId)
+                    .executeUpdate();
+            em.createQuery("delete from Member m where m.id = :memberId")
+                    .setParameter("memberId", memberId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    public void noOversell() throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                orderService.order(memberId, itemId, 1);
+                sold.incrementAndGet();
+            } catch (NotEnoughStockException e) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(ORDERS - STOCK);
+        assertThat(stock()).isZero();
+        assertThat(orderCount()).isEqualTo(STOCK);
+    }
+
+    @Test
+    public void reservationBufferNoOversell() throws Exception {
+        StockReservationBuffer buffer = buffer(Set.of(itemId));
+        OrderService bufferedService = orderService(buffer);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                bufferedService.order(memberId, itemId, 1);
+                sold.incrementAndGet();
+            } catch (NotEnoughStockException e) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(ORDERS - STOCK);
+        assertThat(buffer.getBudget(itemId)).isZero();
+        assertThat(stock()).isZero();
+        assertThat(orderCount()).isEqualTo(STOCK);
+
+        // 모두 팔린 블록은 되돌릴 재고가 없다
+        buffer.returnAll();
+        assertThat(stock()).isZero();
+    }
+
+    @Test
+    public void expiredReservationIsReclaimed() {
+        StockReservationBuffer crashed = buffer(Set.of(itemId));
+        OrderService bufferedService = orderService(crashed);
+        for (int i = 0; i < 3; i++) {
+            bufferedService.order(memberId, itemId, 1);
+        }
+        assertThat(stock()).isEqualTo(STOCK - BLOCK_SIZE);
+        assertThat(crashed.getBudget(itemId)).isEqualTo(BLOCK_SIZE - 3);
+
+        // returnAll 없이 종료된 인스턴스의 블록을 다른 인스턴스가 만료 후 회수
+        StockReservationBuffer other = buffer(Set.of(itemId));
+        assertThat(other.reclaimExpired(LocalDateTime.now())).isZero();
+        assertThat(other.reclaimExpired(LocalDateTime.now().plus(TTL).plusSeconds(1))).isEqualTo(BLOCK_SIZE - 3);
+        assertThat(stock()).isEqualTo(STOCK - 3);
+        assertThat(reservationRepository.count()).isZero();
+    }
+
+    @Test
+    public void coldItemSkipsBuffer() {
+        StockReservationBuffer buffer = buffer(Set.of());
+
+        orderService(buffer).order(memberId, itemId, 1);
+
+        assertThat(stock()).isEqualTo(STOCK - 1);
+        assertThat(buffer.getBudget(itemId)).isZero();
+        assertThat(reservationRepository.count()).isZero();
+    }
+
+    private StockReservationBuffer buffer(Set<Long> hotItems) {
+        return new StockReservationBuffer(itemRepository, reservationRepository, transactionManager,
+                hotItems, BLOCK_SIZE, 16, TTL, Duration.ZERO, Duration.ofMinutes(1));
+    }
+
+    private OrderService orderService(StockReservationBuffer buffer) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("stockReservationBuffer", buffer));
+        return new OrderService(memberRepository, itemRepository, orderRepository,
+                beanFactory.getBeanProvider(StockReservationBuffer.class), transactionManager);
+    }
+
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int stock() {
+        return tx.execute(status -> itemRepository.findById(itemId).map(Item::getStockQuantity).orElseThrow());
+    }
+
+    private long orderCount() {
+        return tx.execute(status -> em.createQuery("select count(o) from Order o where o.member.id = :memberId", Long.class)
+                .setParameter("memberId", memberId)
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,103 @@
+package com.study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.querydsl.QuerydslApplication;
+import com.study.querydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 벤치마크 공통 상태
+ * 내장 H2(MySQL 모드)로 애플리케이션 컨텍스트를 띄우고 memberCount 만큼 회원을 넣어둔다.
+ * -Dbenchmark.datasource.url (-PjmhDatasourceUrl) 을 주면 그 DB 에 테이블을 새로 만들고 넣는다.
+ * cache=false 면 2차 캐시, 쿼리 캐시, MemberCountCache 를 모두 끄고 매번 DB 에서 읽는 비용을 잰다.
+ * (켜두면 같은 조건을 반복하는 벤치마크는 첫 호출 뒤로 캐시 적중만 재게 된다)
+ */
+@State(Scope.Benchmark)
+public class MemberDataState {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String H2_URL = "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"10000", "100000"})
+    public int memberCount;
+
+    @Param({"10"})
+    public int teamCount;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    public ConfigurableApplicationContext context;
+    public JPAQueryFactory queryFactory;
+    public MemberRepository memberRepository;
+    public TransactionTemplate readOnlyTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.datasource.url", H2_URL);
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.driver-class-name=" + (url.startsWith("jdbc:h2:") ? "org.h2.Driver" : ""),
+                        "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "sa"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""),
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.org.hibernate.sql=info",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cache,
+                        "--member.count.cache-ttl=" + (cache ? "30s" : "0s"));
+
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        memberRepository = context.getBean(MemberRepository.class);
+
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public String usernameOf(int index) {
+        return "member" + index;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> teams = new ArrayList<>();
+        for (int i = 1; i <= teamCount; i++) {
+            teams.add(new Object[]{(long) i, "team" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", teams);
+
+        List<Object[]> members = new ArrayList<>();
+        for (int i = 1; i <= memberCount; i++) {
+            members.add(new Object[]{(long) i, usernameOf(i), i % 100, (long) (i % teamCount + 1)});
+            if (members.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", members);
+                members.clear();
+            }
+        }
+        if (!members.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", members);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.study.querydsl.benchmark;
+
+import com.study.querydsl.QuerydslApplication;
+import com.study.querydsl.dto.MemberImportResultDTO;
+import com.study.querydsl.service.MemberImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 회원 대량 등록 처리량 (rows/sec)
+ * batchSize=1 이 JDBC 배치를 쓰지 않던 이전 방식, 100 이 hibernate.jdbc.batch_size 를 켠 현재 방식
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberImportBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class ImportState {
+
+        @Param({"1", "100"})
+        public int batchSize;
+
+        ConfigurableApplicationContext context;
+        MemberImportService memberImportService;
+        byte[] csv;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = new SpringApplicationBuilder(QuerydslApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.hibernate.ddl-auto=create",
+                            "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                            "--spring.jpa.properties.hibernate.show_sql=false",
+                            "--spring.jpa.properties.hibernate.format_sql=false",
+                            "--logging.level.org.hibernate.sql=info");
+            memberImportService = context.getBean(MemberImportService.class);
+
+            StringBuilder builder = new StringBuilder("username,age,teamName\n");
+            for (int i = 0; i < ROWS; i++) {
+                builder.append("member").append(i).append(',')
+                        .append(i % 100).append(',')
+                        .append("team").append(i % 10).append('\n');
+            }
+            csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @TearDown(Level.Iteration)
+        public void truncate() {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("delete from member");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public MemberImportResultDTO importCsv(ImportState state) throws IOException {
+        return state.memberImportService.importCsv(new ByteArrayInputStream(state.csv));
+    }
+}
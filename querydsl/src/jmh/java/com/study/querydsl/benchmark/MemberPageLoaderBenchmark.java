@@ -0,0 +1,70 @@
+package com.study.querydsl.benchmark;
+
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.dto.QMemberTeamDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+/*
+ * 마지막 페이지에서 한 번에 조회하는 offset 쿼리와 지연 조인(searchPageSimple) 비교 (content + count)
+ * 차이는 DB 의 offset 처리 방식에 달려 있으므로 MySQL 에 데이터를 넣고 실행해서 비교한다.
+ * (내장 H2 는 테이블이 바뀌지 않으면 같은 쿼리의 이전 결과를 재사용해서 차이가 보이지 않는다.
+ *  200,000명, 캐시 끔: deferredJoin 124 us/op, offsetQuery 118 us/op, 오차가 값보다 큼)
+ * ./gradlew jmh -PjmhIncludes=MemberPageLoaderBenchmark -PjmhCache=false -PjmhMemberCount=200000 \
+ *     -PjmhDatasourceUrl=jdbc:mysql://localhost:3306/benchmark -PjmhDatasourceUsername=study -PjmhDatasourcePassword=study
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberPageLoaderBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    public Page<MemberTeamDTO> deferredJoin(MemberDataState state) {
+        return state.readOnlyTx.execute(status ->
+                state.memberRepository.searchPageSimple(new MemberSearchCondition(), lastPage(state)));
+    }
+
+    // 지연 조인 이전의 searchPageSimple (content 쿼리 + count 쿼리)
+    @Benchmark
+    public Page<MemberTeamDTO> offsetQuery(MemberDataState state) {
+        PageRequest pageRequest = lastPage(state);
+        return state.readOnlyTx.execute(status -> {
+            Long total = state.queryFactory
+                    .select(member.count())
+                    .from(member)
+                    .fetchOne();
+
+            List<MemberTeamDTO> content = state.queryFactory
+                    .select(new QMemberTeamDTO(
+                            member.id.as("memberId"),
+                            member.username,
+                            member.age,
+                            team.id.as("teamId"),
+                            team.name.as("teamName")
+                    )).from(member)
+                    .leftJoin(member.team, team)
+                    .orderBy(member.id.asc())
+                    .offset(pageRequest.getOffset())
+                    .limit(pageRequest.getPageSize())
+                    .fetch();
+            return new PageImpl<>(content, pageRequest, total);
+        });
+    }
+
+    private PageRequest lastPage(MemberDataState state) {
+        return PageRequest.of(state.memberCount / PAGE_SIZE - 1, PAGE_SIZE);
+    }
+}
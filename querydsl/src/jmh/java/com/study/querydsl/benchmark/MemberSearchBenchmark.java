@@ -0,0 +1,50 @@
+package com.study.querydsl.benchmark;
+
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * searchPageSimple(지연 조인) vs searchPageComplex(offset 한 번에 조회) 첫 페이지 / 마지막 페이지
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    public Page<MemberTeamDTO> searchPageSimpleFirstPage(MemberDataState state) {
+        return state.readOnlyTx.execute(status ->
+                state.memberRepository.searchPageSimple(new MemberSearchCondition(), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDTO> searchPageComplexFirstPage(MemberDataState state) {
+        return state.readOnlyTx.execute(status ->
+                state.memberRepository.searchPageComplex(new MemberSearchCondition(), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDTO> searchPageSimpleLastPage(MemberDataState state) {
+        return state.readOnlyTx.execute(status ->
+                state.memberRepository.searchPageSimple(new MemberSearchCondition(), lastPage(state)));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDTO> searchPageComplexLastPage(MemberDataState state) {
+        return state.readOnlyTx.execute(status ->
+                state.memberRepository.searchPageComplex(new MemberSearchCondition(), lastPage(state)));
+    }
+
+    private PageRequest lastPage(MemberDataState state) {
+        return PageRequest.of(state.memberCount / PAGE_SIZE - 1, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,59 @@
+package com.study.querydsl.benchmark;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.study.querydsl.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.study.querydsl.entity.QMember.member;
+
+/*
+ * 동적 쿼리 작성 방식 비교 (BooleanBuilder / where 다중 파라미터)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PredicateBenchmark {
+
+    @Benchmark
+    public List<Member> booleanBuilder(MemberDataState state) {
+        String username = state.usernameOf(state.memberCount / 2);
+        Integer age = (state.memberCount / 2) % 100;
+
+        return state.readOnlyTx.execute(status -> {
+            BooleanBuilder builder = new BooleanBuilder();
+            if (username != null) {
+                builder.and(member.username.eq(username));
+            }
+            if (age != null) {
+                builder.and(member.age.eq(age));
+            }
+            return state.queryFactory.selectFrom(member)
+                    .where(builder)
+                    .fetch();
+        });
+    }
+
+    @Benchmark
+    public List<Member> whereParam(MemberDataState state) {
+        String username = state.usernameOf(state.memberCount / 2);
+        Integer age = (state.memberCount / 2) % 100;
+
+        return state.readOnlyTx.execute(status -> state.queryFactory.selectFrom(member)
+                .where(usernameEq(username), ageEq(age))
+                .fetch());
+    }
+
+    private Predicate usernameEq(String username) {
+        return username == null ? null : member.username.eq(username);
+    }
+
+    private Predicate ageEq(Integer age) {
+        return age == null ? null : member.age.eq(age);
+    }
+}
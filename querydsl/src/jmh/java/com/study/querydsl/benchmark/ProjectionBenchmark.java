@@ -0,0 +1,84 @@
+package com.study.querydsl.benchmark;
+
+import com.querydsl.core.types.Projections;
+import com.study.querydsl.dto.MemberDTO;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.dto.QMemberDTO;
+import com.study.querydsl.dto.QMemberTeamDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+/*
+ * DTO 조회 방식 비교 (@QueryProjection / setter / field / 생성자)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+
+    private static final int LIMIT = 1_000;
+
+    @Benchmark
+    public List<MemberDTO> queryProjection(MemberDataState state) {
+        return state.readOnlyTx.execute(status -> state.queryFactory
+                .select(new QMemberDTO(member.username, member.age))
+                .from(member)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDTO> projectionsBean(MemberDataState state) {
+        return state.readOnlyTx.execute(status -> state.queryFactory
+                .select(Projections.bean(MemberDTO.class, member.username, member.age))
+                .from(member)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDTO> projectionsFields(MemberDataState state) {
+        return state.readOnlyTx.execute(status -> state.queryFactory
+                .select(Projections.fields(MemberDTO.class, member.username, member.age))
+                .from(member)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDTO> projectionsConstructor(MemberDataState state) {
+        return state.readOnlyTx.execute(status -> state.queryFactory
+                .select(Projections.constructor(MemberDTO.class, member.username, member.age))
+                .from(member)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDTO> memberTeamQueryProjection(MemberDataState state) {
+        return state.readOnlyTx.execute(status -> state.queryFactory
+                .select(new QMemberTeamDTO(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .limit(LIMIT)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDTO> memberTeamProjectionsConstructor(MemberDataState state) {
+        return state.readOnlyTx.execute(status -> state.queryFactory
+                .select(Projections.constructor(MemberTeamDTO.class,
+                        member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .limit(LIMIT)
+                .fetch());
+    }
+}
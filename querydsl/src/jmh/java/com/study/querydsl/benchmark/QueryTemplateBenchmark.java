@@ -0,0 +1,89 @@
+package com.study.querydsl.benchmark;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.dto.QMemberTeamDTO;
+import com.study.querydsl.repository.MemberQueryTemplates;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+/*
+ * searchPageComplex content 쿼리의 호출당 비용
+ * querydsl: 매번 쿼리 트리를 만들고 JPQL 로 직렬화 (이전 방식)
+ * template: 조건 모양별로 직렬화해둔 JPQL 에 파라미터만 바인딩 (MemberQueryTemplates)
+ * buildAndSerialize: DB 를 거치지 않고 쿼리 생성 + 직렬화 비용만
+ * CPU/할당량은 -Pjmh.profilers=gc 또는 jmh { profilers = ['gc'] } 로 함께 확인
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryTemplateBenchmark {
+
+    @Benchmark
+    public List<MemberTeamDTO> querydsl(MemberDataState state) {
+        MemberSearchCondition condition = condition(state);
+        return state.readOnlyTx.execute(status -> contentQuery(state, condition)
+                .offset(0)
+                .limit(20)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberTeamDTO> template(MemberDataState state) {
+        MemberSearchCondition condition = condition(state);
+        MemberQueryTemplates templates = state.context.getBean(MemberQueryTemplates.class);
+        return state.readOnlyTx.execute(status -> templates.searchContent(condition, 0, 20));
+    }
+
+    @Benchmark
+    public String buildAndSerialize(MemberDataState state) {
+        EntityManager em = state.context.getBean(EntityManager.class);
+        JPAQuery<MemberTeamDTO> query = contentQuery(state, condition(state));
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(query.getMetadata(), false, null);
+        return serializer.toString();
+    }
+
+    private static MemberSearchCondition condition(MemberDataState state) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("member1");
+        condition.setTeamName("team" + (state.teamCount / 2));
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(60);
+        return condition;
+    }
+
+    private static JPAQuery<MemberTeamDTO> contentQuery(MemberDataState state, MemberSearchCondition condition) {
+        return state.queryFactory
+                .select(new QMemberTeamDTO(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                )).from(member)
+                .leftJoin(member.team, team)
+                .where(predicates(condition));
+    }
+
+    private static Predicate[] predicates(MemberSearchCondition condition) {
+        return new Predicate[]{
+                member.username.startsWith(condition.getUsernamePrefix()),
+                team.name.eq(condition.getTeamName()),
+                member.age.goe(condition.getAgeGoe()),
+                member.age.loe(condition.getAgeLoe())
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.study.querydsl.benchmark;
+
+import com.study.querydsl.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+/*
+ * member.team 접근 방식 비교 (fetch join / 지연 로딩)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeamFetchBenchmark {
+
+    private static final int LIMIT = 100;
+
+    @Benchmark
+    public void fetchJoin(MemberDataState state, Blackhole blackhole) {
+        state.readOnlyTx.executeWithoutResult(status -> {
+            List<Member> members = state.queryFactory
+                    .selectFrom(member)
+                    .join(member.team, team).fetchJoin()
+                    .limit(LIMIT)
+                    .fetch();
+            members.forEach(m -> blackhole.consume(m.getTeam().getName()));
+        });
+    }
+
+    @Benchmark
+    public void lazyLoading(MemberDataState state, Blackhole blackhole) {
+        state.readOnlyTx.executeWithoutResult(status -> {
+            List<Member> members = state.queryFactory
+                    .selectFrom(member)
+                    .limit(LIMIT)
+                    .fetch();
+            members.forEach(m -> blackhole.consume(m.getTeam().getName()));
+        });
+    }
+}
@@ -3,7 +3,8 @@ package com.study.querydsl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// common 의 설정(com.study.common)도 스캔
+@SpringBootApplication(scanBasePackages = "com.study")
 public class QuerydslApplication {
 
     public static void main(String[] args) {
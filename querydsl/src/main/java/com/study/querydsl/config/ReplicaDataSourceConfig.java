@@ -0,0 +1,93 @@
+package com.study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/*
+ * 읽기 복제본 라우팅 (datasource.replica.jdbc-url 이 있을 때만)
+ * 원본은 spring.datasource, 복제본은 datasource.replica (Hikari 설정 그대로) 로 풀을 따로 만든다.
+ * 복제본에서 읽을 때도 2차 캐시, 쿼리 캐시, MemberCountCache 는 읽지만 읽은 값은 넣지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${datasource.replica-lag.query:SHOW REPLICA STATUS}") String lagQuery,
+                                               @Value("${datasource.replica-lag.max:5s}") Duration maxLag,
+                                               @Value("${datasource.replica-lag.check-interval:1s}") Duration checkInterval) {
+        return new ReplicaLagMonitor(replicaDataSource, meterRegistry, lagQuery, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // 복제본에서 읽은 쿼리 결과가 쿼리 캐시에 들어가지 않도록
+    @Bean
+    public HibernatePropertiesCustomizer replicaAwareRegionFactory() {
+        return properties -> properties.put(AvailableSettings.CACHE_REGION_FACTORY, ReplicaAwareRegionFactory.class.getName());
+    }
+
+    /*
+     * 경로는 트랜잭션을 시작할 때 ReplicaJpaDialect 가 정한다
+     * JpaTransactionManager 는 afterPropertiesSet 에서 EntityManagerFactory 의 dialect 로 덮어쓰므로 그 뒤에 바꾼다.
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(ReplicaLagMonitor replicaLagMonitor,
+                                                         ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager() {
+            @Override
+            public void afterPropertiesSet() {
+                super.afterPropertiesSet();
+                setJpaDialect(new ReplicaJpaDialect(replicaLagMonitor));
+            }
+        };
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+}
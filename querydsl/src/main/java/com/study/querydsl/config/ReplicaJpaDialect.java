@@ -0,0 +1,66 @@
+package com.study.querydsl.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/*
+ * 트랜잭션을 시작할 때 원본/복제본 경로를 정한다
+ * 복제본에서 읽는 트랜잭션은 2차 캐시, 쿼리 캐시를 읽기만 한다 (CacheMode.GET)
+ * 지연된 복제본의 값이 캐시에 들어가면 원본을 읽는 요청에도 오래된 값이 보이므로 채우는 것은 원본 읽기만 한다.
+ * (GET 이어도 쿼리 캐시를 못 찾으면 결과를 넣으므로 ReplicaAwareRegionFactory 에서 막는다, Hibernate 6.5)
+ */
+public class ReplicaJpaDialect extends HibernateJpaDialect {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaJpaDialect(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        ReplicaRoutingDataSource.Route route = definition.isReadOnly() && lagMonitor.isUsable()
+                ? ReplicaRoutingDataSource.Route.REPLICA
+                : ReplicaRoutingDataSource.Route.PRIMARY;
+        ReplicaRoutingDataSource.Route previousRoute = ReplicaRoutingDataSource.bind(route);
+        try {
+            Object transactionData = super.beginTransaction(entityManager, definition);
+            // open-in-view 로 EntityManager 가 트랜잭션보다 오래 살 수 있으므로 끝나면 되돌린다
+            Session session = entityManager.unwrap(Session.class);
+            CacheMode previousCacheMode = session.getCacheMode();
+            if (route == ReplicaRoutingDataSource.Route.REPLICA) {
+                session.setCacheMode(CacheMode.GET);
+            }
+            return new ReplicaTransactionData(transactionData, session, previousCacheMode, previousRoute);
+        } catch (RuntimeException | SQLException e) {
+            ReplicaRoutingDataSource.restore(previousRoute);
+            throw e;
+        }
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData data) {
+            try {
+                if (data.session().isOpen()) {
+                    data.session().setCacheMode(data.previousCacheMode());
+                }
+                super.cleanupTransaction(data.delegate());
+            } finally {
+                ReplicaRoutingDataSource.restore(data.previousRoute());
+            }
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record ReplicaTransactionData(Object delegate, Session session, CacheMode previousCacheMode,
+                                          ReplicaRoutingDataSource.Route previousRoute) {
+    }
+}
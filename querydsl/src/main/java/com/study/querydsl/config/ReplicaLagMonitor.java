@@ -0,0 +1,102 @@
+package com.study.querydsl.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 복제본 지연 확인
+ * checkInterval 마다 lagQuery 로 복제 지연(초)을 읽고, maxLag 를 넘거나 확인할 수 없으면
+ * 복제본을 쓰지 않는다 (ReplicaRoutingDataSource 가 읽기도 원본으로 보냄)
+ * 기본 쿼리는 MySQL 의 SHOW REPLICA STATUS (Seconds_Behind_Source), 복제본이 아니면 결과가 없어 사용 안 함
+ */
+@Slf4j
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean usable;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource,
+                             MeterRegistry meterRegistry,
+                             String lagQuery,
+                             Duration maxLag,
+                             Duration checkInterval) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.checkInterval = checkInterval;
+        meterRegistry.gauge("datasource.replica.lag", this, monitor -> monitor.lagSeconds);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public void refresh() {
+        boolean nowUsable;
+        try {
+            Long lag = jdbcTemplate.query(lagQuery, rs -> rs.next() ? readLag(rs) : null);
+            lagSeconds = lag == null ? -1 : lag;
+            nowUsable = lag != null && lag <= maxLagSeconds;
+        } catch (RuntimeException e) {
+            log.debug("replica lag check failed", e);
+            lagSeconds = -1;
+            nowUsable = false;
+        }
+
+        if (nowUsable != usable) {
+            log.warn("replica {} (lag {}s, max {}s)", nowUsable ? "enabled" : "disabled", lagSeconds, maxLagSeconds);
+        }
+        usable = nowUsable;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        refresh();
+        long interval = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    // SHOW REPLICA STATUS 는 컬럼이 많으므로 이름으로 찾고, 그 외 쿼리는 첫 번째 컬럼
+    private static Long readLag(ResultSet rs) throws SQLException {
+        int column;
+        try {
+            column = rs.findColumn(LAG_COLUMN);
+        } catch (SQLException e) {
+            column = 1;
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+}
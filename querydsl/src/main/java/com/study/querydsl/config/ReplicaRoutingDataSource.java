@@ -0,0 +1,43 @@
+package com.study.querydsl.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/*
+ * 읽기 전용 트랜잭션은 복제본, 그 외는 원본으로
+ * 경로는 트랜잭션을 시작할 때 ReplicaJpaDialect 가 한 번 정해서 스레드에 묶어두고,
+ * 커넥션은 LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 시점에 그 경로로 얻는다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    // REQUIRES_NEW 로 트랜잭션이 중첩되면 안쪽이 끝날 때 바깥 트랜잭션의 경로로 되돌린다
+    private static final ThreadLocal<Route> CURRENT_ROUTE = new ThreadLocal<>();
+
+    // 현재 트랜잭션이 복제본에서 읽는지 (복제 지연이 있을 수 있으므로 읽은 값을 캐시에 넣지 않는다)
+    public static boolean isReplicaRead() {
+        return CURRENT_ROUTE.get() == Route.REPLICA;
+    }
+
+    static Route bind(Route route) {
+        Route previous = CURRENT_ROUTE.get();
+        CURRENT_ROUTE.set(route);
+        return previous;
+    }
+
+    static void restore(Route previous) {
+        if (previous == null) {
+            CURRENT_ROUTE.remove();
+        } else {
+            CURRENT_ROUTE.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = CURRENT_ROUTE.get();
+        return route == null ? Route.PRIMARY : route;
+    }
+}
@@ -1,19 +1,33 @@
 package com.study.querydsl.controller;
 
+import com.study.querydsl.dto.MemberImportResultDTO;
 import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberSliceDTO;
 import com.study.querydsl.dto.MemberTeamDTO;
 import com.study.querydsl.repository.MemberRepository;
+import com.study.querydsl.service.MemberExportService;
+import com.study.querydsl.service.MemberImportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequiredArgsConstructor
 public class HelloController {
 
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
+    private final MemberImportService memberImportService;
     @GetMapping("/hello")
     public String hello() {
         return "hello";
@@ -28,4 +42,29 @@ public class HelloController {
     public Page<MemberTeamDTO> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
         return memberRepository.searchPageComplex(condition, pageable);
     }
+
+    @GetMapping("/v3/members")
+    public MemberSliceDTO searchMemberV3(MemberSearchCondition condition,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "20") int size) {
+        return memberRepository.searchSlice(condition, cursor, Math.min(Math.max(size, 1), 2000));
+    }
+
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> exportMembers(MemberSearchCondition condition,
+                                                               @RequestParam(defaultValue = "ndjson") String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv"))
+                    .body(out -> memberExportService.exportCsv(condition, out));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> memberExportService.exportNdjson(condition, out));
+    }
+
+    @PostMapping(value = "/members/import", consumes = {"text/csv", "text/plain"})
+    public MemberImportResultDTO importMembers(InputStream body) throws IOException {
+        return memberImportService.importCsv(body);
+    }
 }
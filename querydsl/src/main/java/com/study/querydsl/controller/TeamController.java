@@ -0,0 +1,32 @@
+package com.study.querydsl.controller;
+
+import com.study.querydsl.dto.TeamDTO;
+import com.study.querydsl.dto.TeamSearchCondition;
+import com.study.querydsl.dto.TeamStatsDTO;
+import com.study.querydsl.repository.TeamRepository;
+import com.study.querydsl.repository.TeamStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamRepository teamRepository;
+    private final TeamStatsRepository teamStatsRepository;
+
+    @GetMapping("/teams")
+    public Page<TeamDTO> searchTeams(TeamSearchCondition condition, Pageable pageable) {
+        return teamRepository.search(condition, pageable);
+    }
+
+    @GetMapping("/teams/stats")
+    public List<TeamStatsDTO> teamStats() {
+        return teamStatsRepository.findAll();
+    }
+}
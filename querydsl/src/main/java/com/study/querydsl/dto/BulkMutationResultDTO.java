@@ -0,0 +1,19 @@
+package com.study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BulkMutationResultDTO {
+
+    private long affectedCount;
+    private int chunkCount;
+    private long elapsedMillis;
+    // 중간에 인터럽트되면 false (이미 커밋된 조각은 그대로 남는다)
+    private boolean completed;
+}
@@ -0,0 +1,24 @@
+package com.study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberAgeStatsDTO {
+
+    private Long memberId;
+    private String username;
+    private int age;
+    // 소속 팀의 최대 나이 (팀이 없으면 팀 없는 회원들 중 최대)
+    private Integer teamMaxAge;
+    private Double averageAge;
+    // 전체에서 나이 많은 순 (같은 나이는 같은 순위)
+    private long ageRank;
+}
@@ -1,19 +1,34 @@
 package com.study.querydsl.dto;
 
+import com.study.querydsl.search.SearchField;
+import com.study.querydsl.search.SearchOp;
+import com.study.querydsl.search.SearchSortable;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import org.springframework.util.StringUtils;
 
+import java.util.List;
+
+// 모든 조건이 인덱스(username, age, team.name)를 탈 수 있는 형태로만 둔다 (username 은 앞부분 일치만 허용)
 @Getter
 @Setter
 @ToString
 @NoArgsConstructor
+@SearchSortable({"id", "username", "age", "team.name"})
 public class MemberSearchCondition {
 
+    @SearchField(path = "username", selectivity = 2)
     private String username;
+    // username 앞부분 일치 (like 'prefix%')
+    @SearchField(path = "username", op = SearchOp.STARTS_WITH, selectivity = 2)
+    private String usernamePrefix;
+    @SearchField(path = "team.name", selectivity = 1)
     private String teamName;
+    @SearchField(path = "team.name", op = SearchOp.IN, selectivity = 1)
+    private List<String> teamNames;
+    @SearchField(path = "age", op = SearchOp.GOE)
     private Integer ageGoe;
+    @SearchField(path = "age", op = SearchOp.LOE)
     private Integer ageLoe;
 }
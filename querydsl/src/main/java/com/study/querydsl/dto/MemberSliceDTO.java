@@ -0,0 +1,18 @@
+package com.study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberSliceDTO {
+
+    private List<MemberTeamDTO> content;
+    // 다음 조각을 조회할 때 넘겨주는 커서 (마지막 조각이면 null)
+    private String nextCursor;
+    private boolean hasNext;
+}
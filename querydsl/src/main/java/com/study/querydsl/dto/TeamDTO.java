@@ -0,0 +1,21 @@
+package com.study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TeamDTO {
+
+    private Long teamId;
+    private String name;
+
+    @QueryProjection
+    public TeamDTO(Long teamId, String name) {
+        this.teamId = teamId;
+        this.name = name;
+    }
+}
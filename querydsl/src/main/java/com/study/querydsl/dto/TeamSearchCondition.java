@@ -0,0 +1,26 @@
+package com.study.querydsl.dto;
+
+import com.study.querydsl.search.SearchField;
+import com.study.querydsl.search.SearchOp;
+import com.study.querydsl.search.SearchSortable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@SearchSortable({"id", "name"})
+public class TeamSearchCondition {
+
+    @SearchField(path = "name")
+    private String name;
+    @SearchField(path = "name", op = SearchOp.STARTS_WITH)
+    private String namePrefix;
+    @SearchField(path = "name", op = SearchOp.IN)
+    private List<String> names;
+}
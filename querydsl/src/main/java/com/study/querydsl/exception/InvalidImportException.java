@@ -0,0 +1,19 @@
+package com.study.querydsl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/*
+ * 형식이 잘못된 회원 CSV (나이가 숫자가 아님, 닫히지 않은 따옴표 등) - 400 으로 응답
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportException extends IllegalArgumentException {
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+
+    public InvalidImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,70 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.dto.MemberAgeStatsDTO;
+import com.study.querydsl.dto.UserDTO;
+import com.study.querydsl.entity.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/*
+ * 나이 분석 쿼리
+ * 회원마다 서브쿼리를 평가하지 않도록
+ * - 비교 기준(최대, 평균)은 한 번만 계산하는 파생 테이블로 만들어 조인하고 (idx_member_age 로 범위 조회)
+ * - 행마다 붙는 집계 값은 윈도우 함수로 member 를 한 번만 읽어서 구한다
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MemberAnalyticsRepository {
+
+    private final EntityManager em;
+
+    // 나이가 가장 많은 회원 (where age = (select max(age) ...) 대체)
+    public List<Member> findOldest() {
+        return em.createQuery("select m from Member m " +
+                        "join (select max(s.age) as maxAge from Member s) mx on m.age = mx.maxAge " +
+                        "order by m.id", Member.class)
+                .getResultList();
+    }
+
+    // 나이가 평균 이상인 회원 (where age >= (select avg(age) ...) 대체)
+    public List<Member> findAgeGoeAverage() {
+        return em.createQuery("select m from Member m " +
+                        "join (select avg(s.age) as avgAge from Member s) a on m.age >= a.avgAge " +
+                        "order by m.id", Member.class)
+                .getResultList();
+    }
+
+    // 회원 이름과 전체 최대 나이 (select 절 서브쿼리 대체)
+    public List<UserDTO> findUsersWithMaxAge() {
+        return em.createQuery("select m.username, max(m.age) over () from Member m order by m.id", Tuple.class)
+                .getResultList()
+                .stream()
+                .map(row -> new UserDTO(row.get(0, String.class), row.get(1, Number.class).intValue()))
+                .toList();
+    }
+
+    // 팀별 최대 나이, 전체 평균, 나이 순위를 member 한 번 읽어서 계산 (팀 기준 상관 서브쿼리 대체)
+    public List<MemberAgeStatsDTO> findAgeStats() {
+        return em.createQuery("select m.id, m.username, m.age, " +
+                        "max(m.age) over (partition by m.team.id), " +
+                        "avg(m.age) over (), " +
+                        "dense_rank() over (order by m.age desc) " +
+                        "from Member m order by m.id", Tuple.class)
+                .getResultList()
+                .stream()
+                .map(row -> new MemberAgeStatsDTO(
+                        row.get(0, Long.class),
+                        row.get(1, String.class),
+                        row.get(2, Integer.class),
+                        row.get(3, Number.class).intValue(),
+                        row.get(4, Number.class).doubleValue(),
+                        row.get(5, Number.class).longValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.config.ReplicaRoutingDataSource;
+import com.study.querydsl.dto.MemberSearchCondition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/*
+ * 검색 조건별 전체 건수 캐시
+ * 같은 조건의 목록 화면을 넘길 때마다 count 쿼리가 다시 실행되지 않도록 TTL 동안 보관하고,
+ * 회원이 저장/수정/삭제되면 MemberCountInvalidationListener 가 전체를 비운다.
+ * (queryFactory.update/delete 같은 벌크 연산은 엔티티 이벤트가 발생하지 않으므로 직접 invalidateAll 을 호출해야 한다)
+ * TTL 이 0 이면 캐시하지 않는다.
+ */
+@Component
+public class MemberCountCache {
+
+    private final Map<CountKey, CountEntry> cache = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public MemberCountCache(@Value("${member.count.cache-ttl:30s}") Duration ttl,
+                            @Value("${member.count.max-entries:1000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public long get(MemberSearchCondition condition, LongSupplier loader) {
+        CountKey key = CountKey.of(condition);
+        long now = System.nanoTime();
+
+        CountEntry entry = cache.get(key);
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            return entry.total();
+        }
+
+        long total = loader.getAsLong();
+        // 복제본에서 센 값은 지연이 있을 수 있으므로 캐시하지 않는다
+        if (ttlNanos == 0 || ReplicaRoutingDataSource.isReplicaRead()) {
+            return total;
+        }
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+        cache.put(key, new CountEntry(total, now));
+        return total;
+    }
+
+    // 캐시에 유효한 값이 있을 때만 반환 (조회하지 않음)
+    public OptionalLong getIfPresent(MemberSearchCondition condition) {
+        CountEntry entry = cache.get(CountKey.of(condition));
+        if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+            return OptionalLong.of(entry.total());
+        }
+        return OptionalLong.empty();
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private record CountEntry(long total, long loadedAt) {
+    }
+
+    // 검색 쿼리가 같은 결과를 내는 조건만 같은 키가 되도록 정규화 (값은 쿼리처럼 trim 하지 않고 그대로)
+    // usernamePrefix 는 공백뿐이면 조건이 빠지고, teamNames 는 순서와 중복이 결과에 영향을 주지 않는다
+    private record CountKey(String username, String usernamePrefix, String teamName, Set<String> teamNames,
+                            Integer ageGoe, Integer ageLoe) {
+        static CountKey of(MemberSearchCondition condition) {
+            return new CountKey(
+                    condition.getUsername(),
+                    StringUtils.hasText(condition.getUsernamePrefix()) ? condition.getUsernamePrefix() : null,
+                    condition.getTeamName(),
+                    condition.getTeamNames() == null ? Set.of() : new TreeSet<>(condition.getTeamNames()),
+                    condition.getAgeGoe(),
+                    condition.getAgeLoe());
+        }
+    }
+}
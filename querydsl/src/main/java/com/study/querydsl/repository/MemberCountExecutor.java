@@ -0,0 +1,91 @@
+package com.study.querydsl.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/*
+ * count 쿼리 병렬 실행 (member.count.parallel.enabled)
+ * 목록 쿼리와 동시에 별도 스레드, 별도 커넥션의 읽기 전용 트랜잭션에서 count 를 실행한다.
+ * 요청 하나가 커넥션을 두 개 쓰므로 pool-size 는 커넥션 풀보다 충분히 작게 잡는다.
+ * timeout 안에 끝나지 않으면 기다리지 않고 호출 쪽의 대체값을 쓴다 (count 는 계속 실행되어 MemberCountCache 에 남는다)
+ */
+@Slf4j
+@Component
+public class MemberCountExecutor implements DisposableBean {
+
+    private final boolean enabled;
+    private final Duration timeout;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTx;
+
+    public MemberCountExecutor(PlatformTransactionManager transactionManager,
+                               @Value("${member.count.parallel.enabled:false}") boolean enabled,
+                               @Value("${member.count.parallel.pool-size:8}") int poolSize,
+                               @Value("${member.count.parallel.queue-capacity:100}") int queueCapacity,
+                               @Value("${member.count.parallel.timeout:2s}") Duration timeout) {
+        this.enabled = enabled;
+        this.timeout = timeout;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("member-count-");
+        executor.setDaemon(true);
+        executor.initialize();
+
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 실행자가 가득 차면 null (호출 쪽에서 기존처럼 순차 실행)
+    public CompletableFuture<Long> submit(LongSupplier counter) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnlyTx.execute(status -> counter.getAsLong()), executor);
+        } catch (RejectedExecutionException e) {
+            log.debug("count executor is full, counting sequentially");
+            return null;
+        }
+    }
+
+    public long await(CompletableFuture<Long> total, long fallback) {
+        try {
+            return total.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("count did not finish in {}, using {}", timeout, fallback);
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,43 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.entity.Member;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * 회원 변경 시 건수 캐시 무효화
+ * flush 시점에 한 번 비우고, 커밋 전 다른 트랜잭션이 이전 건수로 캐시를 다시 채울 수 있으므로 커밋 후에도 한 번 더 비운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberCountInvalidationListener {
+
+    private final MemberCountCache countCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Member member) {
+        countCache.invalidateAll();
+
+        // 트랜잭션당 한 번만 등록 (대량 저장 시 synchronization 이 행 수만큼 쌓이지 않도록)
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(countCache)) {
+            TransactionSynchronizationManager.bindResource(countCache, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(countCache);
+                    if (status == STATUS_COMMITTED) {
+                        countCache.invalidateAll();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/*
+ * QuerydslPredicateExecutor 의 findAll(Predicate) 는 Member 엔티티 전체를 영속성 컨텍스트에 올리므로
+ * 필요한 컬럼만 DTO 로 조회하는 버전 (team 경로가 있으면 team 을 자동으로 left join)
+ */
+public interface MemberProjectionRepository {
+    <T> List<T> findAll(Predicate predicate, Expression<T> projection);
+    <T> Page<T> findAll(Predicate predicate, Expression<T> projection, Pageable pageable);
+}
@@ -0,0 +1,80 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.querydsl.entity.Member;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+/*
+ * 정렬(Pageable 의 Sort)은 Spring Data Querydsl 이 member 기준 경로로 적용한다.
+ */
+public class MemberProjectionRepositoryImpl implements MemberProjectionRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final Querydsl querydsl;
+
+    public MemberProjectionRepositoryImpl(JPAQueryFactory queryFactory, EntityManager em) {
+        this.queryFactory = queryFactory;
+        // 정렬 경로의 별칭이 쿼리의 from(member) 와 같아야 하므로 QMember.member 의 별칭(member1)을 그대로 쓴다
+        this.querydsl = new Querydsl(em, new PathBuilder<>(Member.class, member.getMetadata()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T> List<T> findAll(Predicate predicate, Expression<T> projection) {
+        TeamJoinVisitor visitor = new TeamJoinVisitor();
+        return contentQuery(visitor.replace(predicate), visitor.replace(projection), visitor.isJoinTeam())
+                .fetch();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public <T> Page<T> findAll(Predicate predicate, Expression<T> projection, Pageable pageable) {
+        TeamJoinVisitor visitor = new TeamJoinVisitor();
+        Predicate where = visitor.replace(predicate);
+        Expression<T> select = visitor.replace(projection);
+        boolean joinTeam = visitor.isJoinTeam();
+
+        List<T> content = querydsl.applyPagination(pageable, contentQuery(where, select, joinTeam)).fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(where));
+    }
+
+    private <T> JPAQuery<T> contentQuery(Predicate where, Expression<T> select, boolean joinTeam) {
+        JPAQuery<T> query = queryFactory
+                .select(select)
+                .from(member);
+        if (joinTeam) {
+            query.leftJoin(member.team, team);
+        }
+        return query.where(where);
+    }
+
+    // 조건에 team 이 없으면 프로젝션에 team 이 있어도 count 에는 조인이 필요 없다 (left join 이라 건수가 같음)
+    private long count(Predicate where) {
+        TeamJoinVisitor visitor = new TeamJoinVisitor();
+        visitor.replace(where);
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member);
+        if (visitor.isJoinTeam()) {
+            countQuery.leftJoin(member.team, team);
+        }
+        Long total = countQuery.where(where).fetchOne();
+        return total == null ? 0 : total;
+    }
+}
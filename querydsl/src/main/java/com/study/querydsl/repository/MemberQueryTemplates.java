@@ -0,0 +1,190 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUtil;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.dto.QMemberTeamDTO;
+import com.study.querydsl.search.SearchParams;
+import com.study.querydsl.search.SearchSpec;
+import com.study.querydsl.search.SearchSpecs;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+/*
+ * 회원 검색 쿼리 템플릿 캐시 (member.query-templates.enabled)
+ * 검색 조건 중 어떤 값이 채워져 있는지(shape)에 따라 쿼리 모양이 정해지므로,
+ * shape 별로 값 대신 Param 을 넣은 Querydsl 쿼리를 한 번만 만들어 JPQL 로 직렬화해두고
+ * 호출할 때는 파라미터만 바인딩한다. (쿼리 트리 생성, 직렬화 비용 제거)
+ * 같은 JPQL 이 반복되므로 Hibernate 의 HQL -> SQL 변환도 query plan cache 에서 재사용된다.
+ * 조건과 Param 은 MemberSearchCondition 의 @SearchField 로 만들므로 SearchSpec 조회와 항상 같은 조건이 된다.
+ */
+@Component
+public class MemberQueryTemplates {
+
+    @SuppressWarnings("rawtypes")
+    private static final Param<Collection> IDS_PARAM = new Param<>(Collection.class, "ids");
+
+    private static final QMemberTeamDTO MEMBER_TEAM = new QMemberTeamDTO(
+            member.id.as("memberId"),
+            member.username,
+            member.age,
+            team.id.as("teamId"),
+            team.name.as("teamName"));
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager em;
+    private final JPQLTemplates jpqlTemplates;
+    private final boolean enabled;
+
+    private final Map<Integer, QueryTemplate> contentTemplates = new ConcurrentHashMap<>();
+    private final Map<Integer, QueryTemplate> idTemplates = new ConcurrentHashMap<>();
+    private final Map<Integer, QueryTemplate> countTemplates = new ConcurrentHashMap<>();
+    private volatile QueryTemplate byIdsTemplate;
+
+    public MemberQueryTemplates(JPAQueryFactory queryFactory,
+                                EntityManager em,
+                                @Value("${member.query-templates.enabled:true}") boolean enabled) {
+        this.queryFactory = queryFactory;
+        this.em = em;
+        this.jpqlTemplates = JPAProvider.getTemplates(em);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // searchPageComplex 의 content 쿼리
+    public List<MemberTeamDTO> searchContent(MemberSearchCondition condition, long offset, int limit) {
+        SearchParams params = SearchSpecs.params(member, condition);
+        QueryTemplate template = contentTemplates.computeIfAbsent(params.shape(), this::buildContent);
+        Query query = cacheable(template.createQuery(em, params.values()))
+                .setFirstResult((int) offset)
+                .setMaxResults(limit);
+        return template.getResultList(query);
+    }
+
+    // searchPageSimple 의 id 쿼리
+    public List<Long> searchIds(MemberSearchCondition condition, long offset, int limit) {
+        SearchParams params = SearchSpecs.params(member, condition);
+        QueryTemplate template = idTemplates.computeIfAbsent(params.shape(), this::buildIds);
+        Query query = cacheable(template.createQuery(em, params.values()))
+                .setFirstResult((int) offset)
+                .setMaxResults(limit);
+        return template.getResultList(query);
+    }
+
+    public List<MemberTeamDTO> findMemberTeamByIds(List<Long> ids) {
+        QueryTemplate template = byIdsTemplate;
+        if (template == null) {
+            template = serialize(queryFactory
+                    .select(MEMBER_TEAM)
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(Expressions.booleanOperation(Ops.IN, member.id, IDS_PARAM)));
+            byIdsTemplate = template;
+        }
+        Map<ParamExpression<?>, Object> params = new HashMap<>();
+        params.put(IDS_PARAM, ids);
+        return template.getResultList(template.createQuery(em, params));
+    }
+
+    public long count(MemberSearchCondition condition) {
+        SearchParams params = SearchSpecs.params(member, condition);
+        QueryTemplate template = countTemplates.computeIfAbsent(params.shape(), this::buildCount);
+        List<Long> result = template.getResultList(template.createQuery(em, params.values()));
+        return result.isEmpty() || result.get(0) == null ? 0 : result.get(0);
+    }
+
+    // SearchSpec 으로 조회할 때와 같은 쿼리 캐시 영역 (반복 검색은 SQL 없이 응답)
+    private static Query cacheable(Query query) {
+        return query
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, MemberRepositoryImpl.QUERY_CACHE_REGION);
+    }
+
+    int cachedTemplateCount() {
+        return contentTemplates.size() + idTemplates.size() + countTemplates.size() + (byIdsTemplate == null ? 0 : 1);
+    }
+
+    private QueryTemplate buildContent(int shape) {
+        return serialize(queryFactory
+                .select(MEMBER_TEAM)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(template(shape).where()));
+    }
+
+    private QueryTemplate buildIds(int shape) {
+        return build(shape, queryFactory.select(member.id).from(member), true);
+    }
+
+    private QueryTemplate buildCount(int shape) {
+        return build(shape, queryFactory.select(member.count()).from(member), false);
+    }
+
+    // 팀 조건이 있을 때만 team 조인
+    private QueryTemplate build(int shape, JPAQuery<?> query, boolean orderById) {
+        SearchSpec spec = template(shape);
+        spec.applyJoins(query);
+        query.where(spec.where());
+        if (orderById) {
+            query.orderBy(member.id.asc());
+        }
+        return serialize(query);
+    }
+
+    private QueryTemplate serialize(JPAQuery<?> query) {
+        JPQLSerializer serializer = new JPQLSerializer(jpqlTemplates, em);
+        serializer.serialize(query.getMetadata(), false, null);
+        FactoryExpression<?> projection = query.getMetadata().getProjection() instanceof FactoryExpression<?> factory
+                ? factory : null;
+        return new QueryTemplate(serializer.toString(), List.copyOf(serializer.getConstants()), projection);
+    }
+
+    private static SearchSpec template(int shape) {
+        return SearchSpecs.template(member, MemberSearchCondition.class, shape);
+    }
+
+    private record QueryTemplate(String jpql, List<Object> constants, FactoryExpression<?> projection) {
+
+        Query createQuery(EntityManager em, Map<ParamExpression<?>, Object> params) {
+            Query query = em.createQuery(jpql);
+            JPAUtil.setConstants(query, constants, params);
+            return query;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> List<T> getResultList(Query query) {
+            List<?> rows = query.getResultList();
+            if (projection == null) {
+                return (List<T>) rows;
+            }
+            return (List<T>) rows.stream()
+                    .map(row -> projection.newInstance(row instanceof Object[] args ? args : new Object[]{row}))
+                    .toList();
+        }
+    }
+}
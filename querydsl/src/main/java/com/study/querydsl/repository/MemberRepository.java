@@ -1,11 +1,31 @@
 package com.study.querydsl.repository;
 
 import com.study.querydsl.entity.Member;
+import com.querydsl.core.types.Predicate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, QuerydslPredicateExecutor<Member> {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, MemberProjectionRepository, QuerydslPredicateExecutor<Member> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "member-query")
+    })
     List<Member> findByUsername(String username);
+
+    // 읽기 전용 트랜잭션으로 명시해서 복제본으로 보낸다 (ReplicaRoutingDataSource)
+    @Override
+    @Transactional(readOnly = true)
+    Iterable<Member> findAll(Predicate predicate);
+
+    @Override
+    @Transactional(readOnly = true)
+    Page<Member> findAll(Predicate predicate, Pageable pageable);
 }
@@ -1,13 +1,17 @@
 package com.study.querydsl.repository;
 
 import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberSliceDTO;
 import com.study.querydsl.dto.MemberTeamDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
     Page<MemberTeamDTO> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDTO> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    MemberSliceDTO searchSlice(MemberSearchCondition condition, String cursor, int size);
+    Stream<MemberTeamDTO> streamSearch(MemberSearchCondition condition);
 }
@@ -1,31 +1,119 @@
 package com.study.querydsl.repository;
 
-import com.querydsl.core.QueryResults;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberSliceDTO;
 import com.study.querydsl.dto.MemberTeamDTO;
 import com.study.querydsl.dto.QMemberTeamDTO;
-import com.study.querydsl.entity.Member;
-import lombok.RequiredArgsConstructor;
+import com.study.querydsl.exception.InvalidSearchRequestException;
+import com.study.querydsl.search.SearchSpec;
+import com.study.querydsl.search.SearchSpecs;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.study.querydsl.entity.QMember.member;
 import static com.study.querydsl.entity.QTeam.team;
 
-@RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom{
+    // 통계 정보의 추정치가 이보다 작으면 정확한 count 가 충분히 싸므로 추정치를 쓰지 않는다
+    private static final long MIN_ESTIMATED_ROWS = 100_000;
+    // 목록 쿼리 결과 캐시 영역 (member, team 이 변경되면 Hibernate 가 자동으로 무효화)
+    static final String QUERY_CACHE_REGION = "member-query";
+
     private final JPAQueryFactory queryFactory;
+    private final EntityManager em;
+    private final MemberCountCache countCache;
+    private final MemberCountExecutor countExecutor;
+    private final MemberQueryTemplates queryTemplates;
+    private final boolean estimateUnfiltered;
+    private final int streamFetchSize;
+
+    public MemberRepositoryImpl(JPAQueryFactory queryFactory,
+                                EntityManager em,
+                                MemberCountCache countCache,
+                                MemberCountExecutor countExecutor,
+                                MemberQueryTemplates queryTemplates,
+                                @Value("${member.count.estimate-unfiltered:false}") boolean estimateUnfiltered,
+                                @Value("${member.export.fetch-size:1000}") int streamFetchSize) {
+        this.queryFactory = queryFactory;
+        this.em = em;
+        this.countCache = countCache;
+        this.countExecutor = countExecutor;
+        this.queryTemplates = queryTemplates;
+        this.estimateUnfiltered = estimateUnfiltered;
+        this.streamFetchSize = streamFetchSize;
+    }
 
+    /*
+     * 지연 조인(deferred join)
+     * 1. 조건에 맞는 member_id 만 offset/limit 으로 조회 (인덱스만 읽고 건너뛰는 행에 대해 team 조인을 하지 않음)
+     * 2. 해당 페이지의 id 로 team 을 조인해서 DTO 를 조회하고 1. 의 순서대로 정렬
+     * 정렬 요청이 있으면 쿼리 템플릿(정렬 없음) 대신 SearchSpec 으로 조회
+     */
     @Override
+    @Transactional(readOnly = true)
     public Page<MemberTeamDTO> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDTO> results = queryFactory
+        SearchSpec spec = SearchSpecs.of(member, condition, pageable.getSort());
+        List<Long> ids = queryTemplates.isEnabled() && !spec.isSorted()
+                ? queryTemplates.searchIds(condition, pageable.getOffset(), pageable.getPageSize())
+                : searchIds(spec, pageable);
+
+        List<MemberTeamDTO> content = ids.isEmpty() ? List.of() : findMemberTeamByIds(ids);
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> countTotal(condition));
+    }
+
+    // 팀 조건이나 팀 정렬이 있을 때만 team 을 조인
+    private List<Long> searchIds(SearchSpec spec, Pageable pageable) {
+        JPAQuery<Long> idQuery = queryFactory
+                .select(member.id)
+                .from(member);
+        spec.applyJoins(idQuery);
+
+        return idQuery
+                .where(spec.where())
+                .orderBy(spec.orderBy(member.id.asc()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
+                .fetch();
+    }
+
+    private List<MemberTeamDTO> findMemberTeamByIds(List<Long> ids) {
+        List<MemberTeamDTO> rows = queryTemplates.isEnabled()
+                ? queryTemplates.findMemberTeamByIds(ids)
+                : fetchMemberTeamByIds(ids);
+        Map<Long, MemberTeamDTO> byId = rows.stream()
+                .collect(Collectors.toMap(MemberTeamDTO::getMemberId, Function.identity()));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<MemberTeamDTO> fetchMemberTeamByIds(List<Long> ids) {
+        return queryFactory
                 .select(new QMemberTeamDTO(
                         member.id.as("memberId"),
                         member.username,
@@ -34,23 +122,32 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom{
                         team.name.as("teamName")
                 )).from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageEq(condition.getAgeGoe()))
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetchResults();
-
-        List<MemberTeamDTO> content = results.getResults();
-        long total = results.getTotal();
-
-        return new PageImpl<>(content,pageable,total);
+                .where(member.id.in(ids))
+                .fetch();
     }
 
     // 데이터가 많을 경우 select 쿼리와 count 쿼리가 같을 경우 조회 속도가 느릴 수 있으므로 분리
+    // member.count.parallel.enabled 이면 count 를 목록 쿼리와 동시에 실행
     @Override
+    @Transactional(readOnly = true)
     public Page<MemberTeamDTO> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDTO> results = queryFactory
+        SearchSpec spec = SearchSpecs.of(member, condition, pageable.getSort());
+        CompletableFuture<Long> asyncTotal = countAsync(condition);
+
+        List<MemberTeamDTO> results = queryTemplates.isEnabled() && !spec.isSorted()
+                ? queryTemplates.searchContent(condition, pageable.getOffset(), pageable.getPageSize())
+                : searchContent(spec, pageable);
+
+        if (asyncTotal == null) {
+            return PageableExecutionUtils.getPage(results, pageable, () -> countTotal(condition));
+        }
+        return PageableExecutionUtils.getPage(results, pageable,
+                () -> countExecutor.await(asyncTotal, lowerBoundTotal(results, pageable)));
+        // return new PageImpl<>(results,pageable,total);
+    }
+
+    private List<MemberTeamDTO> searchContent(SearchSpec spec, Pageable pageable) {
+        return queryFactory
                 .select(new QMemberTeamDTO(
                         member.id.as("memberId"),
                         member.username,
@@ -59,34 +156,137 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom{
                         team.name.as("teamName")
                 )).from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageEq(condition.getAgeGoe()))
+                .where(spec.where())
+                .orderBy(spec.orderBy())
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
                 .fetch();
+    }
+
+    private CompletableFuture<Long> countAsync(MemberSearchCondition condition) {
+        if (!countExecutor.isEnabled()) {
+            return null;
+        }
+        OptionalLong cached = countCache.getIfPresent(condition);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.getAsLong());
+        }
+        return countExecutor.submit(() -> countTotal(condition));
+    }
+
+    // count 가 늦을 때의 전체 건수: 정확한 값 대신 "적어도 다음 페이지가 있다" 까지만 보장
+    private long lowerBoundTotal(List<MemberTeamDTO> results, Pageable pageable) {
+        long seen = pageable.getOffset() + results.size();
+        return results.size() == pageable.getPageSize() ? seen + 1 : seen;
+    }
 
-        JPAQuery<Member> countQuery = queryFactory
-                .select(member)
-                .from(member)
+    private long countTotal(MemberSearchCondition condition) {
+        if (estimateUnfiltered && SearchSpecs.of(member, condition).isUnfiltered()) {
+            return countCache.get(condition, () -> estimateTotal(condition));
+        }
+        return countCache.get(condition, () -> count(condition));
+    }
+
+    // 팀 조건이 없으면 team 조인 없이 member 만 count
+    private long count(MemberSearchCondition condition) {
+        if (queryTemplates.isEnabled()) {
+            return queryTemplates.count(condition);
+        }
+        SearchSpec spec = SearchSpecs.of(member, condition);
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member);
+        spec.applyJoins(countQuery);
+
+        Long total = countQuery
+                .where(spec.where())
+                .fetchOne();
+        return total == null ? 0 : total;
+    }
+
+    // 조건 없는 전체 건수는 테이블 통계의 추정치로 대체 (InnoDB table_rows, 정확하지 않음)
+    private long estimateTotal(MemberSearchCondition condition) {
+        List<?> rows = em.createNativeQuery(
+                        "select table_rows from information_schema.tables " +
+                        "where table_schema = database() and table_name = 'member'")
+                .getResultList();
+        Object estimated = rows.isEmpty() ? null : rows.get(0);
+
+        if (estimated instanceof Number tableRows && tableRows.longValue() >= MIN_ESTIMATED_ROWS) {
+            return tableRows.longValue();
+        }
+        return count(condition);
+    }
+
+    // offset 대신 마지막으로 조회한 member_id 이후부터 PK 인덱스를 타고 조회하므로 페이지 깊이와 무관하게 일정한 속도
+    @Override
+    @Transactional(readOnly = true)
+    public MemberSliceDTO searchSlice(MemberSearchCondition condition, String cursor, int size) {
+        List<MemberTeamDTO> results = queryFactory
+                .select(new QMemberTeamDTO(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                )).from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageEq(condition.getAgeGoe()));
+                .where(memberIdGt(decodeCursor(cursor)))
+                .where(SearchSpecs.of(member, condition).where())
+                .orderBy(member.id.asc())
+                .limit(size + 1)
+                .fetch();
 
-        return PageableExecutionUtils.getPage(results, pageable, countQuery::fetchCount);
-        // return new PageImpl<>(results,pageable,total);
+        // 한 건을 더 조회해서 다음 조각이 있는지 판단
+        boolean hasNext = results.size() > size;
+        List<MemberTeamDTO> content = hasNext ? new ArrayList<>(results.subList(0, size)) : results;
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1).getMemberId()) : null;
+
+        return new MemberSliceDTO(content, nextCursor, hasNext);
+    }
+
+    /*
+     * 전체 결과를 메모리에 올리지 않고 커서로 fetchSize 만큼씩 읽어오는 스트림 (트랜잭션 안에서 사용하고 반드시 close)
+     * 엔티티가 아닌 DTO 로 조회하므로 영속성 컨텍스트에 쌓이는 것이 없다
+     * MySQL 은 url 에 useCursorFetch=true 가 있어야 fetchSize 단위로 읽는다
+     */
+    @Override
+    public Stream<MemberTeamDTO> streamSearch(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamDTO(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                )).from(member)
+                .leftJoin(member.team, team)
+                .where(SearchSpecs.of(member, condition).where())
+                .orderBy(member.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
     }
 
-    public Predicate ageEq(Integer age) {
-        return age == null ? null : member.age.eq(age);
+    private Predicate memberIdGt(Long lastMemberId) {
+        return lastMemberId == null ? null : member.id.gt(lastMemberId);
     }
 
-    public Predicate usernameEq(String username) {
-        return username == null ? null : member.username.eq(username);
+    private String encodeCursor(Long memberId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(memberId).getBytes(StandardCharsets.UTF_8));
     }
 
-    public Predicate teamNameEq(String teamName) {
-        return teamName == null ? null : team.name.eq(teamName);
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchRequestException("Invalid cursor: " + cursor, e);
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.core.support.ReplaceVisitor;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+
+/*
+ * 조건, 프로젝션에서 team 경로를 찾아 조인이 필요한지 판단
+ * member.team.name 같은 암묵적 조인 경로는 team.name 으로 바꿔서 명시적 left join 하나를 같이 쓰게 한다.
+ * (암묵적 조인은 inner join 이라 팀이 없는 회원이 빠지고, 경로마다 조인이 따로 생길 수 있다)
+ * member.team.id 는 외래키만으로 조회되므로 그대로 둔다.
+ */
+class TeamJoinVisitor extends ReplaceVisitor<Void> {
+
+    private boolean joinTeam;
+
+    boolean isJoinTeam() {
+        return joinTeam;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends Expression<?>> T replace(T expression) {
+        return expression == null ? null : (T) expression.accept(this, null);
+    }
+
+    @Override
+    public Expression<?> visit(Path<?> expr, Void context) {
+        PathMetadata metadata = expr.getMetadata();
+        if (expr.equals(member.team)) {
+            joinTeam = true;
+            return team;
+        }
+        if (member.team.equals(metadata.getParent()) && "id".equals(metadata.getName())) {
+            return expr;
+        }
+        if (expr.equals(team)) {
+            joinTeam = true;
+        }
+        return super.visit(expr, context);
+    }
+}
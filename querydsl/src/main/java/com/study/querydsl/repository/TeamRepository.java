@@ -0,0 +1,7 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.entity.Team;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+}
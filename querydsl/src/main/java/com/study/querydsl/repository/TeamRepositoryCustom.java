@@ -0,0 +1,10 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.dto.TeamDTO;
+import com.study.querydsl.dto.TeamSearchCondition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TeamRepositoryCustom {
+    Page<TeamDTO> search(TeamSearchCondition condition, Pageable pageable);
+}
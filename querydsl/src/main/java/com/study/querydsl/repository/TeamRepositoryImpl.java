@@ -0,0 +1,46 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.querydsl.dto.QTeamDTO;
+import com.study.querydsl.dto.TeamDTO;
+import com.study.querydsl.dto.TeamSearchCondition;
+import com.study.querydsl.search.SearchSpec;
+import com.study.querydsl.search.SearchSpecs;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.querydsl.entity.QTeam.team;
+
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TeamDTO> search(TeamSearchCondition condition, Pageable pageable) {
+        SearchSpec spec = SearchSpecs.of(team, condition, pageable.getSort());
+
+        List<TeamDTO> content = queryFactory
+                .select(new QTeamDTO(team.id, team.name))
+                .from(team)
+                .where(spec.where())
+                .orderBy(spec.orderBy(team.id.asc()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(team.count())
+                .from(team)
+                .where(spec.where());
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+}
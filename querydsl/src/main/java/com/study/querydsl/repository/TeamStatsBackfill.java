@@ -0,0 +1,30 @@
+package com.study.querydsl.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/*
+ * 시작할 때 team_stats 가 비어 있으면 member 전체로 집계 (team.stats.backfill-on-startup)
+ * TeamStatsListener 는 이후의 변경만 반영하므로 테이블을 처음 만든 뒤에는 기존 회원이 빠져 있다.
+ * 이미 집계가 있으면 다시 계산하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "team.stats.backfill-on-startup", havingValue = "true", matchIfMissing = true)
+public class TeamStatsBackfill {
+
+    private final TeamStatsRepository teamStatsRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        int teams = teamStatsRepository.rebuildIfEmpty();
+        if (teams >= 0) {
+            log.info("team_stats was empty, backfilled {} teams", teams);
+        }
+    }
+}
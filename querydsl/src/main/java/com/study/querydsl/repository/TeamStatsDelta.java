@@ -0,0 +1,102 @@
+package com.study.querydsl.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * 한 트랜잭션 동안의 팀별 집계 변화량
+ * 커밋 직전에 팀당 한 번씩만 반영하고, 팀 id 순서로 갱신해서 트랜잭션 간 교착을 피한다.
+ * 엔티티 이벤트가 없는 벌크 연산(MemberBulkMutationService)은 변경 전후 값으로 직접 만들어 반영한다.
+ */
+public final class TeamStatsDelta {
+
+    private static final String UPSERT = "insert into team_stats (team_id, member_count, age_sum, min_age, max_age) " +
+            "values (?, ?, ?, ?, ?) on duplicate key update " +
+            "member_count = member_count + values(member_count), " +
+            "age_sum = age_sum + values(age_sum), " +
+            "min_age = least(coalesce(min_age, values(min_age)), coalesce(values(min_age), min_age)), " +
+            "max_age = greatest(coalesce(max_age, values(max_age)), coalesce(values(max_age), max_age))";
+    private static final String DECREASE = "update team_stats set member_count = member_count + ?, " +
+            "age_sum = age_sum + ? where team_id = ?";
+    // 빠진 회원이 최소/최대였을 수 있으므로 (team_id, age) 인덱스로 다시 구한다
+    private static final String RECOMPUTE_RANGE = "update team_stats set " +
+            "min_age = (select min(m.age) from member m where m.team_id = ?), " +
+            "max_age = (select max(m.age) from member m where m.team_id = ?) where team_id = ?";
+
+    private final Map<Long, Change> changes = new TreeMap<>();
+
+    public void add(Long teamId, int age) {
+        if (teamId != null) {
+            changes.computeIfAbsent(teamId, id -> new Change()).add(age);
+        }
+    }
+
+    public void remove(Long teamId, int age) {
+        if (teamId != null) {
+            changes.computeIfAbsent(teamId, id -> new Change()).remove(age);
+        }
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public void apply(Connection connection) throws SQLException {
+        try (PreparedStatement upsert = connection.prepareStatement(UPSERT);
+             PreparedStatement decrease = connection.prepareStatement(DECREASE);
+             PreparedStatement recompute = connection.prepareStatement(RECOMPUTE_RANGE)) {
+            for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+                Long teamId = entry.getKey();
+                Change change = entry.getValue();
+
+                if (change.added) {
+                    upsert.setLong(1, teamId);
+                    upsert.setLong(2, change.count);
+                    upsert.setLong(3, change.ageSum);
+                    upsert.setInt(4, change.minAdded);
+                    upsert.setInt(5, change.maxAdded);
+                    upsert.executeUpdate();
+                } else if (change.count != 0 || change.ageSum != 0) {
+                    decrease.setLong(1, change.count);
+                    decrease.setLong(2, change.ageSum);
+                    decrease.setLong(3, teamId);
+                    decrease.executeUpdate();
+                }
+
+                if (change.removed) {
+                    recompute.setLong(1, teamId);
+                    recompute.setLong(2, teamId);
+                    recompute.setLong(3, teamId);
+                    recompute.executeUpdate();
+                }
+            }
+        }
+        changes.clear();
+    }
+
+    private static final class Change {
+        private long count;
+        private long ageSum;
+        private boolean added;
+        private boolean removed;
+        private int minAdded = Integer.MAX_VALUE;
+        private int maxAdded = Integer.MIN_VALUE;
+
+        void add(int age) {
+            count++;
+            ageSum += age;
+            added = true;
+            minAdded = Math.min(minAdded, age);
+            maxAdded = Math.max(maxAdded, age);
+        }
+
+        void remove(int age) {
+            count--;
+            ageSum -= age;
+            removed = true;
+        }
+    }
+}
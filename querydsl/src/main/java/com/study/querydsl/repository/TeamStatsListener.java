@@ -0,0 +1,114 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 회원 저장/삭제/팀 또는 나이 변경을 team_stats 에 반영
+ * flush 때마다 변화량만 모아두고, 커밋 직전(flush 이후) 같은 트랜잭션에서 팀당 한 번씩 SQL 로 반영한다.
+ * JPQL/SQL 벌크 연산은 이벤트가 발생하지 않으므로 TeamStatsRepository.rebuild 로 다시 계산해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamStatsListener implements PostInsertEventListener, PostDeleteEventListener, PostUpdateEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    // 세션(트랜잭션)별 변화량
+    private final Map<SharedSessionContractImplementor, TeamStatsDelta> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            delta(event.getSession()).add(teamId(member.getTeam()), member.getAge());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            delta(event.getSession()).remove(teamId(member.getTeam()), member.getAge());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member) || event.getOldState() == null) {
+            return;
+        }
+        int teamIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("team");
+        int ageIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("age");
+
+        Long oldTeamId = teamId(event.getOldState()[teamIndex]);
+        Long newTeamId = teamId(event.getState()[teamIndex]);
+        int oldAge = (Integer) event.getOldState()[ageIndex];
+        int newAge = (Integer) event.getState()[ageIndex];
+        if (Objects.equals(oldTeamId, newTeamId) && oldAge == newAge) {
+            return;
+        }
+
+        TeamStatsDelta delta = delta(event.getSession());
+        delta.remove(oldTeamId, oldAge);
+        delta.add(newTeamId, newAge);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // 트랜잭션당 한 번만 커밋 전/후 처리를 등록
+    private TeamStatsDelta delta(EventSource session) {
+        TeamStatsDelta delta = pending.get(session);
+        if (delta != null) {
+            return delta;
+        }
+        delta = new TeamStatsDelta();
+        pending.put(session, delta);
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::apply);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) -> pending.remove(s));
+        return delta;
+    }
+
+    private void apply(SharedSessionContractImplementor session) {
+        TeamStatsDelta delta = pending.remove(session);
+        if (delta != null && !delta.isEmpty()) {
+            session.doWork(delta::apply);
+        }
+    }
+
+    private static Long teamId(Object team) {
+        return team instanceof Team t ? t.getId() : null;
+    }
+}
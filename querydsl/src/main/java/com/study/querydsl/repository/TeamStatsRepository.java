@@ -0,0 +1,63 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.querydsl.dto.QTeamStatsDTO;
+import com.study.querydsl.dto.TeamStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.querydsl.entity.QTeam.team;
+import static com.study.querydsl.entity.QTeamStats.teamStats;
+
+/*
+ * 팀별 회원 수, 평균/최소/최대 나이
+ * member 를 group by 하지 않고 TeamStatsListener 가 미리 집계해둔 team_stats 를 팀 수만큼만 읽는다
+ */
+@Repository
+@RequiredArgsConstructor
+public class TeamStatsRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<TeamStatsDTO> findAll() {
+        return queryFactory
+                .select(new QTeamStatsDTO(
+                        team.id,
+                        team.name,
+                        teamStats.memberCount.coalesce(0L),
+                        teamStats.ageSum.coalesce(0L),
+                        teamStats.minAge,
+                        teamStats.maxAge
+                )).from(team)
+                .leftJoin(teamStats).on(teamStats.teamId.eq(team.id))
+                .orderBy(team.name.asc(), team.id.asc())
+                .fetch();
+    }
+
+    /*
+     * member 전체로 다시 집계 (JPQL/SQL 벌크 연산 이후)
+     * insert ... select 가 읽는 member 행을 잠그므로 재계산 중의 회원 변경은 끝날 때까지 기다린다
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("delete from team_stats");
+        return jdbcTemplate.update("insert into team_stats (team_id, member_count, age_sum, min_age, max_age) " +
+                "select m.team_id, count(*), sum(m.age), min(m.age), max(m.age) " +
+                "from member m where m.team_id is not null group by m.team_id");
+    }
+
+    // team_stats 가 비어 있을 때만 집계 (테이블을 처음 만들었을 때, TeamStatsBackfill), 이미 있으면 -1
+    @Transactional
+    public int rebuildIfEmpty() {
+        if (!jdbcTemplate.queryForList("select team_id from team_stats limit 1", Long.class).isEmpty()) {
+            return -1;
+        }
+        return rebuild();
+    }
+}
@@ -0,0 +1,23 @@
+package com.study.querydsl.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * 검색 조건 필드 -> 엔티티 경로 매핑
+ * path 는 조회 대상 엔티티 기준 ("username", "team.name"), 점(.) 앞은 to-one 연관관계로 조인된다.
+ * 값이 없으면(null, 빈 컬렉션, 빈 문자열 앞부분 일치) 조건에서 빠진다.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchField {
+
+    String path();
+
+    SearchOp op() default SearchOp.EQ;
+
+    // 같은 연산끼리의 적용 순서, 클수록 먼저 (유니크에 가까운 인덱스 컬럼일수록 크게)
+    int selectivity() default 0;
+}
@@ -0,0 +1,98 @@
+package com.study.querydsl.search;
+
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLTemplates;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+
+/*
+ * 검색 연산
+ * 선언 순서가 조건 적용 순서 (등호 -> in -> 앞부분 일치 -> 범위)
+ * 복합 인덱스는 등호 조건 컬럼 뒤에 범위 조건 컬럼이 와야 끝까지 쓰이므로 같은 순서로 둔다
+ */
+public enum SearchOp {
+    EQ(Ops.EQ),
+    IN(Ops.IN) {
+        @Override
+        boolean isActive(Object value) {
+            return value instanceof Collection<?> values && !values.isEmpty();
+        }
+
+        @Override
+        Predicate toPredicate(PathBuilder<Object> path, Object value) {
+            return ExpressionUtils.in(path, (Collection<?>) value);
+        }
+
+        @Override
+        Class<?> paramType(Class<?> fieldType) {
+            return Collection.class;
+        }
+    },
+    STARTS_WITH(Ops.STARTS_WITH) {
+        @Override
+        boolean isActive(Object value) {
+            return value instanceof String prefix && StringUtils.hasText(prefix);
+        }
+
+        // like 'prefix%' (상수 값의 %, _ 는 이스케이프되어 인덱스 range scan 을 유지)
+        // Param 은 {1%} 템플릿에서 이스케이프되지 않으므로 like ? escape '!' 에 이스케이프한 값 + % 를 바인딩
+        @Override
+        Predicate toTemplate(PathBuilder<Object> path, Param<?> param) {
+            return Expressions.predicate(Ops.LIKE_ESCAPE, path, param, ConstantImpl.create(JPQLTemplates.DEFAULT_ESCAPE));
+        }
+
+        @Override
+        Object paramValue(Object value) {
+            return escapeLike((String) value) + "%";
+        }
+    },
+    GOE(Ops.GOE),
+    LOE(Ops.LOE);
+
+    private final Operator operator;
+
+    SearchOp(Operator operator) {
+        this.operator = operator;
+    }
+
+    boolean isActive(Object value) {
+        return value != null;
+    }
+
+    Predicate toPredicate(PathBuilder<Object> path, Object value) {
+        return Expressions.predicate(operator, path, ConstantImpl.create(value));
+    }
+
+    // 쿼리 템플릿용: 값 대신 Param
+    Predicate toTemplate(PathBuilder<Object> path, Param<?> param) {
+        return Expressions.predicate(operator, path, param);
+    }
+
+    Object paramValue(Object value) {
+        return value;
+    }
+
+    Class<?> paramType(Class<?> fieldType) {
+        return fieldType;
+    }
+
+    private static String escapeLike(String value) {
+        char escape = JPQLTemplates.DEFAULT_ESCAPE;
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (char c : value.toCharArray()) {
+            if (c == escape || c == '%' || c == '_') {
+                escaped.append(escape);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.study.querydsl.search;
+
+import com.querydsl.core.types.ParamExpression;
+
+import java.util.Map;
+
+/*
+ * 검색 조건 값을 쿼리 템플릿의 Param 에 바인딩할 값으로 바꾼 것
+ * shape 는 값이 채워진 @SearchField 의 비트마스크 (같은 shape 이면 같은 쿼리 모양)
+ */
+public record SearchParams(int shape, Map<ParamExpression<?>, Object> values) {
+}
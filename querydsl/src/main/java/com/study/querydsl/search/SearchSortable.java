@@ -0,0 +1,17 @@
+package com.study.querydsl.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * 정렬을 허용하는 경로 목록 (Pageable 의 sort 속성 이름 그대로, 예: "team.name")
+ * 목록에 없는 속성으로 정렬하면 InvalidSearchRequestException (400 응답)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchSortable {
+
+    String[] value();
+}
@@ -0,0 +1,64 @@
+package com.study.querydsl.search;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPAQueryBase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/*
+ * 검색 조건 하나로 만든 where 조건, 필요한 조인, 정렬
+ * 조인은 조건/정렬에 쓰인 연관관계만 들어있다 (조건이 걸린 연관관계는 inner join, 정렬에만 쓰이면 left join)
+ */
+public final class SearchSpec {
+
+    private final List<Predicate> predicates;
+    private final Map<String, Join<?>> joins;
+    private final List<OrderSpecifier<?>> orders;
+
+    SearchSpec(List<Predicate> predicates, Map<String, Join<?>> joins, List<OrderSpecifier<?>> orders) {
+        this.predicates = List.copyOf(predicates);
+        this.joins = Map.copyOf(joins);
+        this.orders = List.copyOf(orders);
+    }
+
+    public Predicate[] where() {
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    public boolean isUnfiltered() {
+        return predicates.isEmpty();
+    }
+
+    public boolean isSorted() {
+        return !orders.isEmpty();
+    }
+
+    public boolean requiresJoin(String association) {
+        return joins.containsKey(association);
+    }
+
+    // 이미 연관관계를 조인한 쿼리(목록 조회의 leftJoin 등)에는 호출하지 않는다
+    public void applyJoins(JPAQueryBase<?, ?> query) {
+        joins.values().forEach(join -> join.applyTo(query));
+    }
+
+    // 요청한 정렬 뒤에 fallback (보통 id) 을 붙여 페이지 간 순서를 고정
+    public OrderSpecifier<?>[] orderBy(OrderSpecifier<?>... fallback) {
+        return Stream.concat(orders.stream(), Stream.of(fallback)).toArray(OrderSpecifier<?>[]::new);
+    }
+
+    record Join<A>(PathBuilder<A> target, PathBuilder<A> alias, boolean inner) {
+
+        void applyTo(JPAQueryBase<?, ?> query) {
+            if (inner) {
+                query.join(target, alias);
+            } else {
+                query.leftJoin(target, alias);
+            }
+        }
+    }
+}
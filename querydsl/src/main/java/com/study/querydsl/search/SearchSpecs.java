@@ -0,0 +1,213 @@
+package com.study.querydsl.search;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.study.querydsl.exception.InvalidSearchRequestException;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * @SearchField 가 붙은 검색 조건 객체로 SearchSpec 을 만든다
+ * 조건 클래스별 필드/경로 분석은 처음 한 번만 하고 이후에는 값만 읽는다.
+ * 경로의 별칭은 Q 타입 기본 별칭과 같게 만든다 (member.team 조인의 별칭은 team = QTeam.team)
+ */
+public final class SearchSpecs {
+
+    private static final Map<Class<?>, Metadata> METADATA = new ConcurrentHashMap<>();
+
+    private SearchSpecs() {
+    }
+
+    public static SearchSpec of(EntityPath<?> root, Object condition) {
+        return of(root, condition, Sort.unsorted());
+    }
+
+    public static SearchSpec of(EntityPath<?> root, Object condition, Sort sort) {
+        Metadata metadata = metadata(root, condition.getClass());
+        PathBuilder<?> rootPath = new PathBuilder<>(root.getType(), root.getMetadata().getName());
+        Map<String, SearchSpec.Join<?>> joins = new LinkedHashMap<>();
+
+        List<Predicate> predicates = new ArrayList<>();
+        for (Binding binding : metadata.bindings()) {
+            Object value = ReflectionUtils.getField(binding.field(), condition);
+            if (binding.op().isActive(value)) {
+                PathBuilder<?> owner = owner(rootPath, binding.path(), metadata, joins, true);
+                predicates.add(binding.op().toPredicate(owner.get(binding.path().property()), value));
+            }
+        }
+
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            SearchPath path = metadata.sortable().get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSearchRequestException("Unsupported sort property: " + order.getProperty());
+            }
+            PathBuilder<?> owner = owner(rootPath, path, metadata, joins, false);
+            orders.add(orderSpecifier(order.isAscending() ? Order.ASC : Order.DESC, owner, path.property()));
+        }
+
+        return new SearchSpec(predicates, joins, orders);
+    }
+
+    // 값이 채워진 조건의 shape 와 각 Param 에 바인딩할 값
+    public static SearchParams params(EntityPath<?> root, Object condition) {
+        List<Binding> bindings = metadata(root, condition.getClass()).bindings();
+        int shape = 0;
+        Map<ParamExpression<?>, Object> values = new HashMap<>();
+        for (int i = 0; i < bindings.size(); i++) {
+            Binding binding = bindings.get(i);
+            Object value = ReflectionUtils.getField(binding.field(), condition);
+            if (binding.op().isActive(value)) {
+                shape |= 1 << i;
+                values.put(binding.param(), binding.op().paramValue(value));
+            }
+        }
+        return new SearchParams(shape, values);
+    }
+
+    // shape 에 해당하는 조건을 값 대신 Param 으로 만든 SearchSpec (쿼리 템플릿용, 정렬 없음)
+    public static SearchSpec template(EntityPath<?> root, Class<?> conditionType, int shape) {
+        Metadata metadata = metadata(root, conditionType);
+        PathBuilder<?> rootPath = new PathBuilder<>(root.getType(), root.getMetadata().getName());
+        Map<String, SearchSpec.Join<?>> joins = new LinkedHashMap<>();
+
+        List<Predicate> predicates = new ArrayList<>();
+        List<Binding> bindings = metadata.bindings();
+        for (int i = 0; i < bindings.size(); i++) {
+            if ((shape & (1 << i)) != 0) {
+                Binding binding = bindings.get(i);
+                PathBuilder<?> owner = owner(rootPath, binding.path(), metadata, joins, true);
+                predicates.add(binding.op().toTemplate(owner.get(binding.path().property()), binding.param()));
+            }
+        }
+
+        return new SearchSpec(predicates, joins, List.of());
+    }
+
+    private static Metadata metadata(EntityPath<?> root, Class<?> conditionType) {
+        Metadata metadata = METADATA.computeIfAbsent(conditionType, type -> inspect(type, root.getType()));
+        if (metadata.rootType() != root.getType()) {
+            throw new IllegalArgumentException(conditionType.getSimpleName()
+                    + " is bound to " + metadata.rootType().getSimpleName());
+        }
+        return metadata;
+    }
+
+    private static PathBuilder<?> owner(PathBuilder<?> rootPath, SearchPath path, Metadata metadata,
+                                        Map<String, SearchSpec.Join<?>> joins, boolean inner) {
+        if (path.association() == null) {
+            return rootPath;
+        }
+        SearchSpec.Join<?> join = joins.computeIfAbsent(path.association(),
+                association -> join(rootPath, association, metadata.associations().get(association), inner));
+        return join.alias();
+    }
+
+    private static <A> SearchSpec.Join<A> join(PathBuilder<?> rootPath, String association, Class<A> type, boolean inner) {
+        return new SearchSpec.Join<>(rootPath.get(association, type), new PathBuilder<>(type, association), inner);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static OrderSpecifier<?> orderSpecifier(Order order, PathBuilder<?> owner, String property) {
+        return new OrderSpecifier(order, owner.getComparable(property, Comparable.class));
+    }
+
+    // 조건은 연산 순서 -> selectivity 큰 순 -> 필드 이름 순으로 고정 (같은 조건이면 항상 같은 JPQL)
+    private static Metadata inspect(Class<?> conditionType, Class<?> rootType) {
+        List<Binding> bindings = new ArrayList<>();
+        Map<String, Class<?>> associations = new HashMap<>();
+
+        ReflectionUtils.doWithFields(conditionType, field -> {
+            SearchField searchField = field.getAnnotation(SearchField.class);
+            ReflectionUtils.makeAccessible(field);
+            SearchPath path = SearchPath.parse(searchField.path());
+            resolve(rootType, path, associations);
+            Param<?> param = new Param<>(searchField.op().paramType(field.getType()), field.getName());
+            bindings.add(new Binding(field, path, searchField.op(), searchField.selectivity(), param));
+        }, field -> field.isAnnotationPresent(SearchField.class));
+
+        // shape 를 int 비트마스크로 표현
+        if (bindings.size() > Integer.SIZE) {
+            throw new IllegalArgumentException(conditionType.getSimpleName() + " has too many search fields");
+        }
+
+        bindings.sort(Comparator.comparing(Binding::op)
+                .thenComparing(Binding::selectivity, Comparator.reverseOrder())
+                .thenComparing(binding -> binding.field().getName()));
+
+        Map<String, SearchPath> sortable = new HashMap<>();
+        SearchSortable searchSortable = conditionType.getAnnotation(SearchSortable.class);
+        if (searchSortable != null) {
+            for (String property : searchSortable.value()) {
+                SearchPath path = SearchPath.parse(property);
+                resolve(rootType, path, associations);
+                sortable.put(property, path);
+            }
+        }
+
+        return new Metadata(rootType, List.copyOf(bindings), Map.copyOf(sortable), Map.copyOf(associations));
+    }
+
+    // 경로가 실제 엔티티 필드인지 확인, 연관관계는 to-one 만 허용 (컬렉션 조인은 행이 늘어나므로)
+    private static void resolve(Class<?> rootType, SearchPath path, Map<String, Class<?>> associations) {
+        Class<?> ownerType = rootType;
+        if (path.association() != null) {
+            ownerType = fieldOf(rootType, path.association()).getType();
+            if (Collection.class.isAssignableFrom(ownerType) || Map.class.isAssignableFrom(ownerType)) {
+                throw new IllegalArgumentException("Only to-one associations can be searched: " + path);
+            }
+            associations.put(path.association(), ownerType);
+        }
+        fieldOf(ownerType, path.property());
+    }
+
+    private static Field fieldOf(Class<?> type, String name) {
+        Field field = ReflectionUtils.findField(type, name);
+        if (field == null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no property " + name);
+        }
+        return field;
+    }
+
+    private record Metadata(Class<?> rootType,
+                            List<Binding> bindings,
+                            Map<String, SearchPath> sortable,
+                            Map<String, Class<?>> associations) {
+    }
+
+    private record Binding(Field field, SearchPath path, SearchOp op, int selectivity, Param<?> param) {
+    }
+
+    private record SearchPath(String association, String property) {
+
+        static SearchPath parse(String path) {
+            String[] segments = path.split("\\.");
+            return switch (segments.length) {
+                case 1 -> new SearchPath(null, segments[0]);
+                case 2 -> new SearchPath(segments[0], segments[1]);
+                default -> throw new IllegalArgumentException("Only one level of association is supported: " + path);
+            };
+        }
+
+        @Override
+        public String toString() {
+            return association == null ? property : association + "." + property;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.study.querydsl.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import com.study.querydsl.dto.BulkMutationResultDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.repository.MemberCountCache;
+import com.study.querydsl.repository.TeamStatsDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.study.querydsl.entity.QMember.member;
+
+/*
+ * 회원 벌크 수정/삭제를 id 순서의 조각(chunkSize 건)으로 나눠 조각마다 별도 트랜잭션으로 커밋
+ * 한 트랜잭션이 전체 행을 잠그지 않고, maxRowsPerSecond 로 처리 속도를 제한해서 운영 트래픽과 같이 실행할 수 있다.
+ *
+ * 조각마다
+ * - 대상 id 를 잠그면서 조회 (select ... for update) 하고 그 id 만 수정/삭제
+ * - 변경 전후 팀/나이로 team_stats 를 같은 트랜잭션에서 갱신 (벌크 연산은 TeamStatsListener 를 거치지 않음)
+ * - 커밋 후 건수 캐시를 비우고, 호출한 쪽 영속성 컨텍스트에 남은 해당 회원을 준영속으로 만든다
+ * 2차 캐시의 member 영역, member 를 참조하는 컬렉션 영역(team-members), 쿼리 캐시는 HQL 벌크 연산이 실행될 때 Hibernate 가 무효화한다.
+ *
+ * 조건(where)은 member 의 컬럼(member.team.id 포함)만 사용 (update/delete 에는 조인을 쓸 수 없음)
+ * 호출한 쪽 트랜잭션이 같은 회원을 잠그고 있으면 조각 트랜잭션이 기다리므로 트랜잭션 밖에서 호출한다.
+ */
+@Slf4j
+@Service
+public class MemberBulkMutationService {
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager em;
+    private final MemberCountCache countCache;
+    private final TransactionTemplate chunkTx;
+    private final int chunkSize;
+    private final long maxRowsPerSecond;
+
+    public MemberBulkMutationService(JPAQueryFactory queryFactory,
+                                     EntityManager em,
+                                     MemberCountCache countCache,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${member.bulk.chunk-size:1000}") int chunkSize,
+                                     @Value("${member.bulk.max-rows-per-second:0}") long maxRowsPerSecond) {
+        this.queryFactory = queryFactory;
+        this.em = em;
+        this.countCache = countCache;
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public BulkMutationResultDTO update(Predicate where, Consumer<JPAUpdateClause> assignments) {
+        return update(where, assignments, progress -> {
+        });
+    }
+
+    // assignments 에서 set 만 지정 (where 는 조각마다 붙인다)
+    public BulkMutationResultDTO update(Predicate where, Consumer<JPAUpdateClause> assignments,
+                                        Consumer<Progress> progressListener) {
+        return run("update", where, ids -> {
+            JPAUpdateClause clause = queryFactory.update(member);
+            assignments.accept(clause);
+            return clause.where(where, member.id.in(ids)).execute();
+        }, progressListener);
+    }
+
+    public BulkMutationResultDTO delete(Predicate where) {
+        return delete(where, progress -> {
+        });
+    }
+
+    public BulkMutationResultDTO delete(Predicate where, Consumer<Progress> progressListener) {
+        return run("delete", where, ids -> queryFactory.delete(member)
+                .where(where, member.id.in(ids))
+                .execute(), progressListener);
+    }
+
+    private BulkMutationResultDTO run(String operation, Predicate where, Function<List<Long>, Long> mutation,
+                                      Consumer<Progress> progressListener) {
+        long start = System.nanoTime();
+        long affected = 0;
+        int chunks = 0;
+        Long lastId = null;
+        boolean completed = true;
+
+        while (true) {
+            Long afterId = lastId;
+            Chunk chunk = chunkTx.execute(status -> mutateChunk(where, afterId, mutation));
+            if (chunk == null || chunk.ids().isEmpty()) {
+                break;
+            }
+
+            chunks++;
+            affected += chunk.affected();
+            lastId = chunk.ids().get(chunk.ids().size() - 1);
+            countCache.invalidateAll();
+            detachFromCallerContext(chunk.ids());
+
+            Progress progress = new Progress(affected, chunks, lastId, Duration.ofNanos(System.nanoTime() - start));
+            log.debug("bulk {} progress {}", operation, progress);
+            progressListener.accept(progress);
+
+            if (chunk.ids().size() < chunkSize) {
+                break;
+            }
+            if (!throttle(affected, start)) {
+                completed = false;
+                log.warn("bulk {} interrupted after {} rows (last member_id {})", operation, affected, lastId);
+                break;
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("bulk {} {} rows in {} chunks, {} ms", operation, affected, chunks, elapsedMillis);
+        return new BulkMutationResultDTO(affected, chunks, elapsedMillis, completed);
+    }
+
+    // 마지막으로 처리한 id 다음부터 chunkSize 건 (id 순서로 잠가서 조각 트랜잭션끼리 교착하지 않음)
+    private Chunk mutateChunk(Predicate where, Long afterId, Function<List<Long>, Long> mutation) {
+        List<Tuple> before = queryFactory
+                .select(member.id, member.team.id, member.age)
+                .from(member)
+                .where(where, afterId == null ? null : member.id.gt(afterId))
+                .orderBy(member.id.asc())
+                .limit(chunkSize)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+        if (before.isEmpty()) {
+            return new Chunk(List.of(), 0);
+        }
+
+        List<Long> ids = before.stream().map(row -> row.get(member.id)).toList();
+        long affected = mutation.apply(ids);
+
+        updateTeamStats(before, ids);
+        return new Chunk(ids, affected);
+    }
+
+    private void updateTeamStats(List<Tuple> before, List<Long> ids) {
+        Map<Long, Tuple> after = queryFactory
+                .select(member.id, member.team.id, member.age)
+                .from(member)
+                .where(member.id.in(ids))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(row -> row.get(member.id), Function.identity()));
+
+        TeamStatsDelta delta = new TeamStatsDelta();
+        for (Tuple old : before) {
+            Tuple current = after.get(old.get(member.id));
+            if (current == null) {
+                delta.remove(old.get(member.team.id), old.get(member.age));
+            } else if (!Objects.equals(old.get(member.team.id), current.get(member.team.id))
+                    || !Objects.equals(old.get(member.age), current.get(member.age))) {
+                delta.remove(old.get(member.team.id), old.get(member.age));
+                delta.add(current.get(member.team.id), current.get(member.age));
+            }
+        }
+        if (!delta.isEmpty()) {
+            em.unwrap(Session.class).doWork(delta::apply);
+        }
+    }
+
+    // 호출한 쪽 트랜잭션의 영속성 컨텍스트에 남아있는 변경 전 회원을 분리 (전체 clear 는 하지 않음)
+    private void detachFromCallerContext(List<Long> ids) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Member.class);
+        for (Long id : ids) {
+            Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                session.detach(managed);
+            }
+        }
+    }
+
+    // 시작 후 처리한 행 수가 maxRowsPerSecond 를 넘지 않도록 대기 (인터럽트되면 false)
+    private boolean throttle(long affected, long startNanos) {
+        if (maxRowsPerSecond <= 0) {
+            return true;
+        }
+        long expectedNanos = TimeUnit.SECONDS.toNanos(affected) / maxRowsPerSecond;
+        long waitNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record Progress(long affectedCount, int chunkCount, long lastMemberId, Duration elapsed) {
+    }
+
+    private record Chunk(List<Long> ids, long affected) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.study.querydsl.service;
+
+import com.study.querydsl.exception.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * CSV 를 한 레코드씩 읽는다 (RFC 4180)
+ * 큰따옴표로 감싼 필드 안에서는 쉼표, 줄바꿈을 값으로 읽고 "" 는 " 하나로 읽는다.
+ * 따옴표로 시작하지 않은 필드 안의 따옴표는 그대로 값이 된다.
+ */
+class MemberCsvReader {
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private int recordLineNumber;
+
+    MemberCsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    // 다음 레코드의 필드 목록, 끝이면 null
+    List<String> next() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        recordLineNumber = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                // 따옴표 안의 줄바꿈은 값
+                line = reader.readLine();
+                if (line == null) {
+                    throw new InvalidImportException("Unterminated quoted field at line " + recordLineNumber);
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+            fieldStart = false;
+        }
+    }
+
+    // 마지막으로 읽은 레코드가 시작한 줄 번호 (1부터)
+    int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+}
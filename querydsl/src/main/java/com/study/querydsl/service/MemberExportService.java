@@ -0,0 +1,92 @@
+package com.study.querydsl.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+ * 회원 검색 결과 내보내기
+ * 결과를 한 행씩 읽어서 바로 응답에 쓰므로 결과 건수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    private static final int FLUSH_INTERVAL = 1_000;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(MemberSearchCondition condition, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try (Stream<MemberTeamDTO> stream = memberRepository.streamSearch(condition)) {
+            Iterator<MemberTeamDTO> iterator = stream.iterator();
+            for (int row = 1; iterator.hasNext(); row++) {
+                writer.write(objectMapper.writeValueAsString(iterator.next()));
+                writer.write('\n');
+                flushEvery(writer, row);
+            }
+        }
+        writer.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(MemberSearchCondition condition, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("memberId,username,age,teamId,teamName\n");
+
+        try (Stream<MemberTeamDTO> stream = memberRepository.streamSearch(condition)) {
+            Iterator<MemberTeamDTO> iterator = stream.iterator();
+            for (int row = 1; iterator.hasNext(); row++) {
+                MemberTeamDTO dto = iterator.next();
+                writer.write(String.join(",",
+                        csv(dto.getMemberId()),
+                        csv(dto.getUsername()),
+                        csv(dto.getAge()),
+                        csv(dto.getTeamId()),
+                        csv(dto.getTeamName())));
+                writer.write('\n');
+                flushEvery(writer, row);
+            }
+        }
+        writer.flush();
+    }
+
+    // 클라이언트가 받는 속도에 맞춰 조금씩 내보낸다
+    private void flushEvery(Writer writer, int row) throws IOException {
+        if (row % FLUSH_INTERVAL == 0) {
+            writer.flush();
+        }
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // 스프레드시트가 수식으로 실행하지 않도록 =, +, -, @, 탭, CR 로 시작하는 문자열은 앞에 ' 를 붙인다 (숫자 열은 그대로)
+        if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
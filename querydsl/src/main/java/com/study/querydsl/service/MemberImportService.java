@@ -0,0 +1,104 @@
+package com.study.querydsl.service;
+
+import com.study.querydsl.dto.MemberImportResultDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import com.study.querydsl.exception.InvalidImportException;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 회원 대량 등록 (CSV: username,age,teamName, 쉼표나 따옴표가 든 값은 큰따옴표로 감싼다)
+ * 형식이 잘못된 행이 있으면 InvalidImportException (400) 으로 전체를 롤백한다.
+ * hibernate.jdbc.batch_size 단위로 insert 를 묶어서 보내고, chunkSize 마다 flush/clear 해서
+ * 영속성 컨텍스트가 전체 행을 들고 있지 않도록 한다.
+ */
+@Service
+public class MemberImportService {
+
+    private final EntityManager em;
+    private final int chunkSize;
+
+    public MemberImportService(EntityManager em,
+                               @Value("${member.import.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public MemberImportResultDTO importCsv(InputStream inputStream) throws IOException {
+        long start = System.currentTimeMillis();
+        // clear 후에도 팀을 다시 조회하지 않도록 이름 -> id 만 보관
+        Map<String, Long> teamIds = new HashMap<>();
+        long imported = 0;
+
+        MemberCsvReader reader = new MemberCsvReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        List<String> columns;
+        while ((columns = reader.next()) != null) {
+            int lineNumber = reader.getRecordLineNumber();
+            if (isBlank(columns) || (lineNumber == 1 && columns.get(0).trim().equals("username"))) {
+                continue;
+            }
+            if (columns.size() < 2) {
+                throw new InvalidImportException("Invalid member csv at line " + lineNumber + ": " + columns);
+            }
+
+            String username = columns.get(0).trim();
+            int age;
+            try {
+                age = Integer.parseInt(columns.get(1).trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidImportException("Invalid age at line " + lineNumber + ": " + columns.get(1), e);
+            }
+            String teamName = columns.size() > 2 ? columns.get(2).trim() : "";
+
+            Team team = StringUtils.hasText(teamName) ? findOrCreateTeam(teamName, teamIds) : null;
+            em.persist(new Member(username, age, team));
+
+            if (++imported % chunkSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+
+        return new MemberImportResultDTO(imported, System.currentTimeMillis() - start);
+    }
+
+    private boolean isBlank(List<String> columns) {
+        return columns.size() == 1 && !StringUtils.hasText(columns.get(0));
+    }
+
+    private Team findOrCreateTeam(String teamName, Map<String, Long> teamIds) {
+        Long teamId = teamIds.get(teamName);
+        if (teamId != null) {
+            return em.getReference(Team.class, teamId);
+        }
+
+        List<Team> teams = em.createQuery("select t from Team t where t.name = :name", Team.class)
+                .setParameter("name", teamName)
+                .setMaxResults(1)
+                .getResultList();
+        Team team = teams.isEmpty() ? null : teams.get(0);
+        if (team == null) {
+            team = new Team(teamName);
+            em.persist(team);
+        }
+        teamIds.put(teamName, team.getId());
+        return team;
+    }
+}
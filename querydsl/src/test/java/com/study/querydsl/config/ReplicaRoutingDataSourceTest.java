@@ -0,0 +1,205 @@
+package com.study.querydsl.config;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.repository.MemberCountCache;
+import com.study.querydsl.repository.MemberRepository;
+import com.study.querydsl.repository.TeamStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static com.study.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 원본/복제본 대신 내장 DB 두 개로 라우팅 확인
+ * 복제본에는 복제가 없으므로 서로 다른 데이터를 넣고 어느 쪽에서 읽었는지 확인한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "datasource.replica.jdbc-url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.driver-class-name=org.h2.Driver",
+        "datasource.replica.username=sa",
+        "datasource.replica.password=",
+        "datasource.replica-lag.query=select lag_seconds from replica_lag",
+        "datasource.replica-lag.check-interval=1h"
+})
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberCountCache countCache;
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    TransactionTemplate tx;
+    JdbcTemplate replica;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        replica.execute("create table if not exists team (team_id bigint primary key, name varchar(255))");
+        replica.execute("create table if not exists member (member_id bigint primary key, username varchar(255), " +
+                "age integer not null, team_id bigint)");
+        replica.execute("create table if not exists replica_lag (lag_seconds bigint)");
+        replica.update("insert into member (member_id, username, age) values (1, 'replicaMember', 10)");
+        replica.update("insert into replica_lag (lag_seconds) values (0)");
+        replicaLagMonitor.refresh();
+
+        tx.executeWithoutResult(status -> em.persist(new Member("primaryMember", 20)));
+        countCache.invalidateAll();
+    }
+
+    @AfterEach
+    public void after() {
+        replica.update("delete from member");
+        replica.update("delete from replica_lag");
+        tx.executeWithoutResult(status -> em.createQuery("delete from Member").executeUpdate());
+        // 벌크 삭제는 TeamStatsListener 를 거치지 않는다
+        teamStatsRepository.rebuild();
+    }
+
+    @Test
+    public void readOnlyGoesToReplica() {
+        assertThat(replicaLagMonitor.isUsable()).isTrue();
+
+        assertThat(memberRepository.searchPageComplex(prefix("replica"), PageRequest.of(0, 10)).getContent())
+                .extracting("username").containsExactly("replicaMember");
+        assertThat(memberRepository.searchPageSimple(prefix("primary"), PageRequest.of(0, 10)).getContent())
+                .isEmpty();
+        assertThat(memberRepository.findAll(member.username.startsWith("replica")))
+                .extracting("username").containsExactly("replicaMember");
+    }
+
+    @Test
+    public void writeTransactionGoesToPrimary() {
+        Long count = tx.execute(status -> queryFactory
+                .select(member.count())
+                .from(member)
+                .where(member.username.eq("primaryMember"))
+                .fetchOne());
+
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimary() {
+        replica.update("update replica_lag set lag_seconds = 60");
+        replicaLagMonitor.refresh();
+
+        assertThat(replicaLagMonitor.isUsable()).isFalse();
+        assertThat(memberRepository.searchPageComplex(prefix("primary"), PageRequest.of(0, 10)).getContent())
+                .extracting("username").containsExactly("primaryMember");
+    }
+
+    @Test
+    public void replicaReadDoesNotPopulateCaches() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // 페이지가 가득 차야 count 를 실행하므로 크기 1
+        MemberSearchCondition replicaCondition = prefix("replica");
+        assertThat(memberRepository.searchPageComplex(replicaCondition, PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(1);
+        assertThat(memberRepository.findAll(member.username.startsWith("replica")))
+                .extracting("username").containsExactly("replicaMember");
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        List<Member> replicaMembers = readOnlyTx.execute(status -> memberRepository.findByUsername("replicaMember"));
+        assertThat(replicaMembers).hasSize(1);
+
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+        assertThat(emf.getCache().contains(Member.class, 1L)).isFalse();
+        assertThat(countCache.getIfPresent(replicaCondition)).isEmpty();
+
+        // 쿼리 캐시 put 통계는 영역이 넣지 않아도 올라가므로 같은 조회가 다시 캐시를 못 찾는지로 확인
+        statistics.clear();
+        memberRepository.searchPageComplex(replicaCondition, PageRequest.of(0, 1));
+        assertThat(statistics.getQueryCacheMissCount()).isPositive();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+
+        // 같은 조회도 원본에서 읽으면 캐시에 들어간다
+        replica.update("update replica_lag set lag_seconds = 60");
+        replicaLagMonitor.refresh();
+
+        MemberSearchCondition primaryCondition = prefix("primary");
+        assertThat(memberRepository.searchPageComplex(primaryCondition, PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(1);
+        assertThat(memberRepository.findByUsername("primaryMember")).hasSize(1);
+
+        assertThat(statistics.getQueryCachePutCount()).isPositive();
+        assertThat(countCache.getIfPresent(primaryCondition)).isPresent();
+    }
+
+    @Test
+    public void replicaReadUsesCachesFilledByPrimary() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // 원본에서 읽어 캐시를 채운다
+        replica.update("update replica_lag set lag_seconds = 60");
+        replicaLagMonitor.refresh();
+        MemberSearchCondition condition = prefix("primary");
+        assertThat(memberRepository.searchPageComplex(condition, PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(1);
+        assertThat(countCache.getIfPresent(condition)).isPresent();
+        assertThat(statistics.getQueryCachePutCount()).isPositive();
+
+        // 복제본에는 primaryMember 가 없으므로 결과가 나오면 캐시에서 읽은 것
+        replica.update("update replica_lag set lag_seconds = 0");
+        replicaLagMonitor.refresh();
+        statistics.clear();
+        Page<MemberTeamDTO> page = memberRepository.searchPageComplex(condition, PageRequest.of(0, 1));
+
+        assertThat(page.getContent()).extracting("username").containsExactly("primaryMember");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private MemberSearchCondition prefix(String usernamePrefix) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix(usernamePrefix);
+        return condition;
+    }
+}
@@ -0,0 +1,113 @@
+package com.study.querydsl.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * /members/export 는 응답을 별도 스레드에서 쓰므로 (StreamingResponseBody) 데이터를 커밋해두고 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberExportTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("exportTeam");
+            em.persist(team);
+            em.persist(new Member("exportMember", 10, team));
+            em.persist(new Member("=1+2", 20, team));
+            em.persist(new Member("@SUM(A1), \"x\"", 30, team));
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("select m from Member m where m.team.name = 'exportTeam'", Member.class)
+                    .getResultList()
+                    .forEach(em::remove);
+            em.createQuery("select t from Team t where t.name = 'exportTeam'", Team.class)
+                    .getResultList()
+                    .forEach(em::remove);
+        });
+    }
+
+    @Test
+    public void exportNdjson() throws Exception {
+        String body = export("ndjson", MediaType.APPLICATION_NDJSON);
+
+        List<String> usernames = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            assertThat(node.get("teamName").asText()).isEqualTo("exportTeam");
+            usernames.add(node.get("username").asText());
+        }
+        // JSON 은 수식으로 해석되지 않으므로 값 그대로
+        assertThat(usernames).containsExactly("exportMember", "=1+2", "@SUM(A1), \"x\"");
+    }
+
+    @Test
+    public void exportCsv() throws Exception {
+        String body = export("csv", new MediaType("text", "csv"));
+
+        String[] lines = body.split("\n");
+        assertThat(lines[0]).isEqualTo("memberId,username,age,teamId,teamName");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[1]).matches("\\d+,exportMember,10,\\d+,exportTeam");
+        assertThat(lines[2]).contains(",'=1+2,20,");
+        assertThat(lines[3]).contains(",\"'@SUM(A1), \"\"x\"\"\",30,");
+    }
+
+    private String export(String format, MediaType mediaType) throws Exception {
+        MvcResult result = mockMvc.perform(get("/members/export")
+                        .param("format", format)
+                        .param("teamName", "exportTeam"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package com.study.querydsl.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * 형식이 잘못된 CSV 는 500 이 아니라 400 으로 응답
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberImportTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void importQuotedCsv() throws Exception {
+        mockMvc.perform(post("/members/import")
+                        .contentType("text/csv")
+                        .content("username,age,teamName\n\"importMember, Jr.\",10,importTeamA\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(1));
+    }
+
+    @Test
+    public void invalidCsv() throws Exception {
+        mockMvc.perform(post("/members/import")
+                        .contentType("text/csv")
+                        .content("\"importMember1,10,importTeamA\n"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/members/import")
+                        .contentType("text/csv")
+                        .content("importMember1,ten,importTeamA\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
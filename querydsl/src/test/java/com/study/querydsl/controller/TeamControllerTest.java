@@ -0,0 +1,31 @@
+package com.study.querydsl.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * @SearchSortable 에 없는 정렬 속성은 500 이 아니라 400 으로 응답
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class TeamControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void unsupportedSort() throws Exception {
+        mockMvc.perform(get("/teams").param("sort", "members,asc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/teams").param("sort", "name,asc"))
+                .andExpect(status().isOk());
+    }
+}
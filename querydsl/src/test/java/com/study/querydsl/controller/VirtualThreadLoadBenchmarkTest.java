@@ -0,0 +1,146 @@
+package com.study.querydsl.controller;
+
+import com.study.querydsl.QuerydslApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * /v2/members 를 높은 동시성으로 호출해서 플랫폼 스레드와 가상 스레드의 p99 지연 비교
+ * 두 모드 모두 같은 커넥션 풀 크기로 띄우고 spring.threads.virtual.enabled 만 바꾼다.
+ * 가상 스레드의 p99 가 플랫폼 스레드 p99 의 MAX_P99_RATIO 배 안에 들어와야 통과
+ * ./gradlew benchmarkTest -PjavaVersion=21 로 실행
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadBenchmarkTest.class);
+
+    private static final long FIRST_ID = 20_000_000L;
+    private static final int MEMBER_COUNT = 10_000;
+    private static final int CONCURRENCY = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    // 요청 스레드 수 제한이 없어져도 커넥션 풀이 같으므로 최소한 나빠지지는 않아야 한다 (측정 오차 여유)
+    private static final double MAX_P99_RATIO = 1.1;
+    private static final String PATH = "/v2/members?usernamePrefix=loadMember&page=10&size=20";
+
+    static ConfigurableApplicationContext seedContext;
+
+    @BeforeAll
+    static void seed() {
+        seedContext = start(false);
+        JdbcTemplate jdbcTemplate = seedContext.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            rows.add(new Object[]{FIRST_ID + i, "loadMember" + i, i % 100});
+        }
+        jdbcTemplate.batchUpdate("insert into member (member_id, username, age) values (?, ?, ?)", rows);
+    }
+
+    @AfterAll
+    static void cleanUp() {
+        seedContext.getBean(JdbcTemplate.class)
+                .update("delete from member where member_id >= ? and member_id < ?", FIRST_ID, FIRST_ID + MEMBER_COUNT);
+        seedContext.close();
+    }
+
+    @Test
+    public void platformVsVirtual() throws Exception {
+        long[] platform = run(false);
+        long[] virtual = run(true);
+
+        log.info("platform threads p50 {} ms, p99 {} ms", percentile(platform, 50), percentile(platform, 99));
+        log.info("virtual threads  p50 {} ms, p99 {} ms", percentile(virtual, 50), percentile(virtual, 99));
+        assertThat(virtual).hasSameSizeAs(platform).hasSize(CONCURRENCY * REQUESTS_PER_CLIENT);
+        assertThat((double) percentile(virtual, 99)).isLessThanOrEqualTo(percentile(platform, 99) * MAX_P99_RATIO);
+    }
+
+    private long[] run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + PATH);
+            HttpClient client = HttpClient.newBuilder().build();
+
+            // 워밍업
+            for (int i = 0; i < 100; i++) {
+                send(client, uri);
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+            try {
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    futures.add(executor.submit(() -> {
+                        long[] latencies = new long[REQUESTS_PER_CLIENT];
+                        for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                            latencies[j] = send(client, uri);
+                        }
+                        return latencies;
+                    }));
+                }
+
+                long[] all = new long[CONCURRENCY * REQUESTS_PER_CLIENT];
+                int index = 0;
+                for (Future<long[]> future : futures) {
+                    for (long latency : future.get()) {
+                        all[index++] = latency;
+                    }
+                }
+                Arrays.sort(all);
+                if (virtualThreads) {
+                    // VirtualThreadPinningMonitor 가 기록한 고정 횟수 (JDBC 드라이버의 synchronized 등)
+                    log.info("virtual threads pinned {} times",
+                            context.getBean(MeterRegistry.class).counter("jvm.threads.virtual.pinned").count());
+                }
+                return all;
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static long send(HttpClient client, URI uri) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[(int) Math.ceil(percentile / 100.0 * sorted.length) - 1];
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(QuerydslApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.hikari.maximum-pool-size=50",
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--sql.telemetry.slow-query-threshold=10s",
+                        "--logging.level.org.hibernate.SQL=info");
+    }
+}
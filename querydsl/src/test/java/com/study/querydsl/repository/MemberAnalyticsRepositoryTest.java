@@ -0,0 +1,138 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.common.config.QueryCountHolder;
+import com.study.querydsl.dto.MemberAgeStatsDTO;
+import com.study.querydsl.dto.UserDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.QMember;
+import com.study.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.study.common.config.QueryCountAssertions.assertSelectCount;
+import static com.study.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 서브쿼리 버전(QuerydslBasicTest.subQuery 등)과 결과가 같고,
+ * 실행 계획에 회원마다 평가되는 서브쿼리(DEPENDENT SUBQUERY)가 없는지 EXPLAIN 으로 확인
+ * (MySQL 의 EXPLAIN 형식 기준)
+ */
+@SpringBootTest
+@Transactional
+class MemberAnalyticsRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    MemberAnalyticsRepository analyticsRepository;
+
+    QMember memberSub = new QMember("memberSub");
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("analyticsTeamA");
+        Team teamB = new Team("analyticsTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("analyticsMember1", 10, teamA));
+        em.persist(new Member("analyticsMember2", 20, teamA));
+        em.persist(new Member("analyticsMember3", 30, teamB));
+        em.persist(new Member("analyticsMember4", 40, teamB));
+
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void findOldest() {
+        List<Member> expected = queryFactory.selectFrom(member)
+                .where(member.age.eq(JPAExpressions.select(memberSub.age.max()).from(memberSub)))
+                .orderBy(member.id.asc())
+                .fetch();
+
+        List<Member> result = explained(analyticsRepository::findOldest);
+
+        assertThat(result).extracting("id").containsExactlyElementsOf(expected.stream().map(Member::getId).toList());
+    }
+
+    @Test
+    public void findAgeGoeAverage() {
+        List<Member> expected = queryFactory.selectFrom(member)
+                .where(member.age.goe(JPAExpressions.select(memberSub.age.avg()).from(memberSub)))
+                .orderBy(member.id.asc())
+                .fetch();
+
+        List<Member> result = explained(analyticsRepository::findAgeGoeAverage);
+
+        assertThat(result).extracting("id").containsExactlyElementsOf(expected.stream().map(Member::getId).toList());
+    }
+
+    @Test
+    public void findUsersWithMaxAge() {
+        Integer maxAge = queryFactory.select(member.age.max()).from(member).fetchOne();
+
+        List<UserDTO> result = explained(analyticsRepository::findUsersWithMaxAge);
+
+        assertThat(result).extracting("name").contains("analyticsMember1", "analyticsMember4");
+        assertThat(result).extracting("age").containsOnly(maxAge);
+    }
+
+    @Test
+    public void findAgeStats() {
+        List<MemberAgeStatsDTO> result = explained(analyticsRepository::findAgeStats);
+
+        MemberAgeStatsDTO member1 = result.stream()
+                .filter(stats -> stats.getUsername().equals("analyticsMember1"))
+                .findFirst()
+                .orElseThrow();
+        MemberAgeStatsDTO member3 = result.stream()
+                .filter(stats -> stats.getUsername().equals("analyticsMember3"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(member1.getTeamMaxAge()).isEqualTo(20);
+        assertThat(member3.getTeamMaxAge()).isEqualTo(40);
+        assertThat(member3.getAgeRank()).isLessThan(member1.getAgeRank());
+    }
+
+    // 쿼리 한 번으로 끝나고, 실행 계획에 행마다 다시 실행되는 서브쿼리가 없어야 한다
+    private <T> T explained(Supplier<T> query) {
+        QueryCountHolder.start();
+        T result = query.get();
+        assertSelectCount(1);
+
+        String sql = QueryCountHolder.get().getStatements().get(0);
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql);
+        assertThat(plan).isNotEmpty();
+        for (Map<String, Object> row : plan) {
+            // 컬럼이 없으면 (다른 DB 의 EXPLAIN 형식) 아래 검사가 null 로 항상 통과하므로 먼저 확인
+            assertThat(row).as("explain columns").containsKey("select_type");
+            assertThat(row.get("select_type")).as("select_type of %s", row.get("table"))
+                    .isNotIn("DEPENDENT SUBQUERY", "UNCACHEABLE SUBQUERY");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.dto.MemberSearchCondition;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCountCacheTest {
+
+    @Test
+    public void cachesPerNormalizedCondition() {
+        MemberCountCache countCache = new MemberCountCache(Duration.ofMinutes(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        MemberSearchCondition condition1 = new MemberSearchCondition();
+        condition1.setTeamNames(List.of("teamA", "teamB"));
+        MemberSearchCondition condition2 = new MemberSearchCondition();
+        condition2.setTeamNames(List.of("teamB", "teamA", "teamA"));
+
+        long total1 = countCache.get(condition1, () -> loads.incrementAndGet() * 10L);
+        long total2 = countCache.get(condition2, () -> loads.incrementAndGet() * 10L);
+
+        assertThat(total1).isEqualTo(10);
+        assertThat(total2).isEqualTo(10);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void keyFollowsQueryFilters() {
+        MemberCountCache countCache = new MemberCountCache(Duration.ofMinutes(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // 공백뿐인 usernamePrefix 는 조건이 빠지므로 조건 없음과 같은 키
+        MemberSearchCondition blankPrefix = new MemberSearchCondition();
+        blankPrefix.setUsernamePrefix(" ");
+        countCache.get(new MemberSearchCondition(), loads::incrementAndGet);
+        countCache.get(blankPrefix, loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(1);
+
+        // 쿼리는 값을 trim 하지 않으므로 앞뒤 공백이 다르면 다른 키
+        MemberSearchCondition teamA = new MemberSearchCondition();
+        teamA.setTeamName("teamA");
+        MemberSearchCondition paddedTeamA = new MemberSearchCondition();
+        paddedTeamA.setTeamName(" teamA ");
+        countCache.get(teamA, loads::incrementAndGet);
+        countCache.get(paddedTeamA, loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void invalidateAll() {
+        MemberCountCache countCache = new MemberCountCache(Duration.ofMinutes(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        countCache.get(condition, loads::incrementAndGet);
+        countCache.invalidateAll();
+        long total = countCache.get(condition, loads::incrementAndGet);
+
+        assertThat(total).isEqualTo(2);
+    }
+
+    @Test
+    public void expiresAfterTtl() {
+        MemberCountCache countCache = new MemberCountCache(Duration.ZERO, 100);
+        AtomicInteger loads = new AtomicInteger();
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        countCache.get(condition, loads::incrementAndGet);
+        countCache.get(condition, loads::incrementAndGet);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(countCache.getIfPresent(condition)).isEmpty();
+    }
+}
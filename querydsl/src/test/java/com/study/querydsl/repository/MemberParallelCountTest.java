@@ -0,0 +1,101 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * count 는 다른 스레드의 트랜잭션에서 실행되므로 테스트 데이터를 커밋하고 직접 정리한다
+ */
+@SpringBootTest(properties = "member.count.parallel.enabled=true")
+class MemberParallelCountTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+    @Autowired
+    MemberCountCache countCache;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        teamId = tx.execute(status -> {
+            Team team = new Team("parallelTeam");
+            em.persist(team);
+            for (int i = 0; i < 25; i++) {
+                em.persist(new Member("parallelMember" + i, i, team));
+            }
+            return team.getId();
+        });
+        countCache.invalidateAll();
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+        });
+        // 벌크 삭제는 TeamStatsListener 를 거치지 않는다
+        teamStatsRepository.rebuild();
+        countCache.invalidateAll();
+    }
+
+    @Test
+    public void searchPageComplexParallelCount() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("parallelMember");
+
+        Page<MemberTeamDTO> result = memberRepository.searchPageComplex(condition, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).hasSize(10);
+        assertThat(result.getTotalElements()).isEqualTo(25);
+    }
+
+    @Test
+    public void timeoutFallback() {
+        MemberCountExecutor executor = new MemberCountExecutor(transactionManager, true, 1, 1, Duration.ofMillis(50));
+        try {
+            CompletableFuture<Long> slowCount = executor.submit(() -> {
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 100;
+            });
+
+            assertThat(executor.await(slowCount, 21)).isEqualTo(21);
+        } finally {
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.study.querydsl.repository;
+
+import com.study.common.config.QueryCountHolder;
+import com.study.querydsl.dto.MemberDTO;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.dto.QMemberDTO;
+import com.study.querydsl.dto.QMemberTeamDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberProjectionRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("projectionTeamA");
+        Team teamB = new Team("projectionTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("projectionMember1", 10, teamA));
+        em.persist(new Member("projectionMember2", 20, teamA));
+        em.persist(new Member("projectionMember3", 30, teamB));
+        em.persist(new Member("projectionMember4", 40));
+
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void projectionDoesNotLoadEntities() {
+        List<MemberDTO> result = memberRepository.findAll(
+                member.username.startsWith("projectionMember").and(member.age.goe(20)),
+                new QMemberDTO(member.username, member.age));
+
+        assertThat(result).extracting("username")
+                .containsExactlyInAnyOrder("projectionMember2", "projectionMember3", "projectionMember4");
+        assertThat(em.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities())
+                .isZero();
+    }
+
+    @Test
+    public void implicitTeamPathUsesLeftJoin() {
+        // member.team.name 은 team.name 으로 바뀌고 left join 이므로 팀 없는 회원도 조회된다
+        List<MemberTeamDTO> result = memberRepository.findAll(
+                member.username.startsWith("projectionMember"),
+                new QMemberTeamDTO(member.id, member.username, member.age, member.team.id, member.team.name));
+
+        assertThat(result).hasSize(4);
+        assertThat(result).extracting("teamName").containsOnlyOnce((String) null);
+    }
+
+    @Test
+    public void teamAliasPredicateWithPaging() {
+        QueryCountHolder.start();
+        Page<MemberTeamDTO> result = memberRepository.findAll(
+                team.name.eq("projectionTeamA").or(team.name.eq("projectionTeamB")),
+                new QMemberTeamDTO(member.id, member.username, member.age, team.id, team.name),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age")));
+
+        assertThat(result.getContent()).extracting("username")
+                .containsExactly("projectionMember3", "projectionMember2");
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        // content + count
+        assertThat(QueryCountHolder.get().getSelectCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,94 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.common.config.QueryCountHolder;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.common.config.QueryCountAssertions.assertSelectCount;
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberQueryCountTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JPAQueryFactory queryFactory;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("countTeamA");
+        Team teamB = new Team("countTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("countMember1", 10, teamA));
+        em.persist(new Member("countMember2", 20, teamA));
+        em.persist(new Member("countMember3", 30, teamB));
+        em.persist(new Member("countMember4", 40, teamB));
+
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        QueryCountHolder.clear();
+    }
+
+    @Test
+    public void searchPageComplex() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("countMember");
+
+        QueryCountHolder.start();
+        memberRepository.searchPageComplex(condition, PageRequest.of(0, 3));
+
+        // content + count
+        assertSelectCount(2);
+    }
+
+    @Test
+    public void fetchJoinTeam() {
+        QueryCountHolder.start();
+        List<Member> members = queryFactory
+                .selectFrom(member)
+                .join(member.team, team).fetchJoin()
+                .where(member.username.startsWith("countMember"))
+                .fetch();
+        members.forEach(m -> m.getTeam().getName());
+
+        assertSelectCount(1);
+    }
+
+    @Test
+    public void lazyTeamIsNPlusOne() {
+        QueryCountHolder.start();
+        List<Member> members = queryFactory
+                .selectFrom(member)
+                .where(member.username.startsWith("countMember"))
+                .fetch();
+        members.forEach(m -> m.getTeam().getName());
+
+        // 회원 1번 + 팀 2개 지연 로딩
+        assertSelectCount(3);
+        assertThat(QueryCountHolder.get().getSelectRepeats()).containsValue(2);
+    }
+}
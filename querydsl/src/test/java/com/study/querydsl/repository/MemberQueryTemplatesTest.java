@@ -0,0 +1,147 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import com.study.querydsl.search.SearchField;
+import com.study.querydsl.search.SearchSpec;
+import com.study.querydsl.search.SearchSpecs;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.study.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberQueryTemplatesTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberQueryTemplates queryTemplates;
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("templateTeamA");
+        Team teamB = new Team("templateTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("templateMember1", 10, teamA));
+        em.persist(new Member("templateMember2", 20, teamA));
+        em.persist(new Member("templateMember3", 30, teamB));
+        em.persist(new Member("template%Member4", 40));
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void searchContent() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("templateMember");
+        condition.setTeamNames(List.of("templateTeamA", "templateTeamB"));
+        condition.setAgeGoe(20);
+
+        List<MemberTeamDTO> result = queryTemplates.searchContent(condition, 0, 10);
+
+        assertThat(result).extracting("username")
+                .containsExactlyInAnyOrder("templateMember2", "templateMember3");
+        assertThat(result).extracting("teamName")
+                .containsExactlyInAnyOrder("templateTeamA", "templateTeamB");
+        assertThat(queryTemplates.count(condition)).isEqualTo(2);
+    }
+
+    @Test
+    public void searchIdsAndFindByIds() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("templateTeamA");
+
+        List<Long> ids = queryTemplates.searchIds(condition, 0, 10);
+
+        assertThat(ids).hasSize(2).isSorted();
+        assertThat(queryTemplates.findMemberTeamByIds(ids)).extracting("username")
+                .containsExactlyInAnyOrder("templateMember1", "templateMember2");
+    }
+
+    @Test
+    public void likeWildcardIsEscaped() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("template%");
+
+        assertThat(queryTemplates.searchContent(condition, 0, 10)).extracting("username")
+                .containsExactly("template%Member4");
+    }
+
+    @Test
+    public void templateReusedForSameShape() {
+        MemberSearchCondition first = new MemberSearchCondition();
+        first.setUsername("templateMember1");
+        first.setAgeLoe(50);
+        queryTemplates.searchContent(first, 0, 10);
+        int cached = queryTemplates.cachedTemplateCount();
+
+        MemberSearchCondition second = new MemberSearchCondition();
+        second.setUsername("templateMember3");
+        second.setAgeLoe(30);
+
+        assertThat(queryTemplates.searchContent(second, 0, 10)).extracting("username")
+                .containsExactly("templateMember3");
+        assertThat(queryTemplates.cachedTemplateCount()).isEqualTo(cached);
+    }
+
+    /*
+     * @SearchField 하나씩만 채웠을 때 템플릿 조회가 SearchSpec 조회와 같고, 실제로 걸러내는지 확인
+     * 조건 필드를 추가하고 여기 값을 추가하지 않으면 실패
+     */
+    @Test
+    public void everySearchFieldIsApplied() {
+        Map<String, Object> values = Map.of(
+                "username", "templateMember1",
+                "usernamePrefix", "templateMember",
+                "teamName", "templateTeamB",
+                "teamNames", List.of("templateTeamA"),
+                "ageGoe", 30,
+                "ageLoe", 20);
+
+        List<Field> fields = new ArrayList<>();
+        ReflectionUtils.doWithFields(MemberSearchCondition.class, fields::add,
+                field -> field.isAnnotationPresent(SearchField.class));
+        assertThat(values.keySet()).containsExactlyInAnyOrderElementsOf(fields.stream().map(Field::getName).toList());
+
+        for (Field field : fields) {
+            // 이 테스트의 회원으로 범위를 좁히고 (usernamePrefix 를 확인할 때는 덮어씀) 필드 하나만 채운다
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setUsernamePrefix("template");
+            ReflectionUtils.makeAccessible(field);
+            ReflectionUtils.setField(field, condition, values.get(field.getName()));
+
+            SearchSpec spec = SearchSpecs.of(member, condition);
+            JPAQuery<String> expectedQuery = queryFactory.select(member.username).from(member);
+            spec.applyJoins(expectedQuery);
+            List<String> expected = expectedQuery.where(spec.where()).fetch();
+
+            assertThat(expected).as(field.getName()).isNotEmpty().hasSizeLessThan(4);
+            assertThat(queryTemplates.searchContent(condition, 0, 10)).as(field.getName())
+                    .extracting("username")
+                    .containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(queryTemplates.count(condition)).as(field.getName()).isEqualTo(expected.size());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.study.querydsl.repository;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import com.study.common.config.QueryCount;
+import com.study.common.config.QueryCountHolder;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.entity.Team;
+import com.study.querydsl.search.SearchSpecs;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static com.study.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * MemberSearchCondition 의 각 조건으로 실행된 SQL 이 full scan(type = ALL) 없이 인덱스를 타는지 EXPLAIN 으로 확인
+ * (MySQL 의 EXPLAIN 형식 기준)
+ */
+@SpringBootTest
+@Transactional
+class MemberSearchIndexTest {
+
+    private static final int TEAM_COUNT = 50;
+    private static final int MEMBER_COUNT = 20_000;
+    private static final long FIRST_ID = 30_000_000L;
+    private static final int PAGE_SIZE = 20;
+    private static final Pattern MEMBER_ID_IN = Pattern.compile("member_id in ?\\(");
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberCountCache countCache;
+
+    @BeforeEach
+    public void before() {
+        List<Long> teamIds = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            Team team = new Team("idxTeam" + i);
+            em.persist(team);
+            teamIds.add(team.getId());
+        }
+        em.flush();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            rows.add(new Object[]{FIRST_ID + i, "idxMember" + i, i % 100, teamIds.get(i % TEAM_COUNT)});
+        }
+        jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    public void usernameEq() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("idxMember1");
+        assertSearchUsesIndex(condition);
+    }
+
+    @Test
+    public void usernameStartsWith() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("idxMember123");
+        assertSearchUsesIndex(condition);
+    }
+
+    @Test
+    public void ageRange() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(11);
+        assertSearchUsesIndex(condition);
+    }
+
+    @Test
+    public void teamNameEq() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("idxTeam1");
+        assertSearchUsesIndex(condition);
+    }
+
+    @Test
+    public void teamNameIn() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamNames(List.of("idxTeam1", "idxTeam2"));
+        assertSearchUsesIndex(condition);
+    }
+
+    @Test
+    public void teamNameAndAgeRange() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("idxTeam1");
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(11);
+        assertSearchUsesIndex(condition);
+    }
+
+    /*
+     * searchPageSimple 이 실제로 실행한 id 조회, count 쿼리를 그대로 EXPLAIN
+     * (id 목록으로 DTO 를 조회하는 쿼리는 PK 조회이므로 제외)
+     */
+    private void assertSearchUsesIndex(MemberSearchCondition condition) {
+        countCache.invalidateAll();
+        QueryCount queryCount = QueryCountHolder.start();
+        try {
+            memberRepository.searchPageSimple(condition, PageRequest.of(0, PAGE_SIZE));
+        } finally {
+            QueryCountHolder.clear();
+        }
+
+        List<String> searches = queryCount.getStatements().stream()
+                .filter(sql -> !MEMBER_ID_IN.matcher(sql).find())
+                .toList();
+        assertThat(searches).isNotEmpty();
+
+        List<Object> whereArgs = whereArgs(condition);
+        for (String sql : searches) {
+            // where 값 뒤에 남은 파라미터는 limit
+            List<Object> args = new ArrayList<>(whereArgs);
+            while (args.size() < placeholders(sql)) {
+                args.add(PAGE_SIZE);
+            }
+            assertUsesIndex(sql, args.toArray());
+        }
+    }
+
+    // SearchSpecs 의 조건 순서대로 바인딩된 값 (앞부분 일치는 'prefix%', in 은 목록을 펼친다)
+    private static List<Object> whereArgs(MemberSearchCondition condition) {
+        List<Object> args = new ArrayList<>();
+        for (Predicate predicate : SearchSpecs.of(member, condition).where()) {
+            Operation<?> operation = (Operation<?>) predicate;
+            Object value = ((Constant<?>) operation.getArg(1)).getConstant();
+            if (operation.getOperator() == Ops.STARTS_WITH) {
+                args.add(value + "%");
+            } else if (value instanceof Collection<?> values) {
+                args.addAll(values);
+            } else {
+                args.add(value);
+            }
+        }
+        return args;
+    }
+
+    private static long placeholders(String sql) {
+        return sql.chars().filter(c -> c == '?').count();
+    }
+
+    private void assertUsesIndex(String sql, Object... args) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, args);
+
+        assertThat(plan).as(sql).isNotEmpty();
+        for (Map<String, Object> row : plan) {
+            assertThat(row.get("type")).as("access type of %s in %s", row.get("table"), sql).isNotEqualTo("ALL");
+            assertThat(row.get("key")).as("index of %s in %s", row.get("table"), sql).isNotNull();
+        }
+    }
+}
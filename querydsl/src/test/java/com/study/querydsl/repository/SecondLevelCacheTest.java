@@ -0,0 +1,121 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 2차 캐시는 커밋된 데이터만 올라가므로 테스트 트랜잭션(롤백) 대신 TransactionTemplate 으로 커밋하고 직접 정리한다
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Statistics statistics;
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        teamId = tx.execute(status -> {
+            Team team = new Team("cacheTeam");
+            em.persist(team);
+            em.persist(new Member("cacheMember1", 10, team));
+            em.persist(new Member("cacheMember2", 20, team));
+            return team.getId();
+        });
+        emf.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+        });
+        // 벌크 삭제는 TeamStatsListener 를 거치지 않는다
+        teamStatsRepository.rebuild();
+        emf.getCache().evictAll();
+    }
+
+    @Test
+    public void findTeamFromEntityCache() {
+        tx.executeWithoutResult(status -> em.find(Team.class, teamId));
+        long statements = statistics.getPrepareStatementCount();
+
+        Team team = tx.execute(status -> em.find(Team.class, teamId));
+
+        assertThat(team.getName()).isEqualTo("cacheTeam");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getDomainDataRegionStatistics("team").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void findByUsernameFromQueryCache() {
+        tx.executeWithoutResult(status -> memberRepository.findByUsername("cacheMember1"));
+        long statements = statistics.getPrepareStatementCount();
+
+        Member member = tx.execute(status -> memberRepository.findByUsername("cacheMember1").get(0));
+
+        assertThat(member.getUsername()).isEqualTo("cacheMember1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void repeatedSearchStopsIssuingSql() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("cacheTeam");
+
+        tx.executeWithoutResult(status -> memberRepository.searchPageComplex(condition, PageRequest.of(0, 10)));
+        long statements = statistics.getPrepareStatementCount();
+
+        long total = tx.execute(status ->
+                memberRepository.searchPageComplex(condition, PageRequest.of(0, 10)).getTotalElements());
+
+        assertThat(total).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    public void queryCacheInvalidatedOnWrite() {
+        tx.executeWithoutResult(status -> memberRepository.findByUsername("cacheMember1"));
+        tx.executeWithoutResult(status -> em.persist(new Member("cacheMember1", 30, em.find(Team.class, teamId))));
+
+        int found = tx.execute(status -> memberRepository.findByUsername("cacheMember1").size());
+
+        assertThat(found).isEqualTo(2);
+    }
+}
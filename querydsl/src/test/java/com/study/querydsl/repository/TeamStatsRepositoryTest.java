@@ -0,0 +1,150 @@
+package com.study.querydsl.repository;
+
+import com.study.querydsl.dto.TeamStatsDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * team_stats 는 커밋 직전에 반영되므로 테스트 데이터를 커밋하고 직접 정리한다
+ */
+@SpringBootTest
+class TeamStatsRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Long teamAId;
+    Long teamBId;
+    Long member1Id;
+    Long member2Id;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("statsTeamA");
+            Team teamB = new Team("statsTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            Member member1 = new Member("statsMember1", 10, teamA);
+            Member member2 = new Member("statsMember2", 20, teamA);
+            em.persist(member1);
+            em.persist(member2);
+            em.persist(new Member("statsMember3", 30, teamB));
+
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+            member1Id = member1.getId();
+            member2Id = member2.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id in :teamIds")
+                    .setParameter("teamIds", List.of(teamAId, teamBId))
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id in :teamIds")
+                    .setParameter("teamIds", List.of(teamAId, teamBId))
+                    .executeUpdate();
+        });
+        jdbcTemplate.update("delete from team_stats where team_id in (?, ?)", teamAId, teamBId);
+    }
+
+    @Test
+    public void insert() {
+        TeamStatsDTO teamA = stats().get(teamAId);
+
+        assertThat(teamA.getTeamName()).isEqualTo("statsTeamA");
+        assertThat(teamA.getMemberCount()).isEqualTo(2);
+        assertThat(teamA.getAverageAge()).isEqualTo(15.0);
+        assertThat(teamA.getMinAge()).isEqualTo(10);
+        assertThat(teamA.getMaxAge()).isEqualTo(20);
+    }
+
+    @Test
+    public void changeTeamAndDelete() {
+        tx.executeWithoutResult(status -> {
+            em.find(Member.class, member2Id).changeTeam(em.find(Team.class, teamBId));
+            em.remove(em.find(Member.class, member1Id));
+        });
+
+        Map<Long, TeamStatsDTO> stats = stats();
+        TeamStatsDTO teamA = stats.get(teamAId);
+        TeamStatsDTO teamB = stats.get(teamBId);
+
+        assertThat(teamA.getMemberCount()).isZero();
+        assertThat(teamA.getAverageAge()).isNull();
+        assertThat(teamA.getMinAge()).isNull();
+        assertThat(teamB.getMemberCount()).isEqualTo(2);
+        assertThat(teamB.getAverageAge()).isEqualTo(25.0);
+        assertThat(teamB.getMinAge()).isEqualTo(20);
+        assertThat(teamB.getMaxAge()).isEqualTo(30);
+    }
+
+    @Test
+    public void rollbackIsNotApplied() {
+        tx.executeWithoutResult(status -> {
+            em.persist(new Member("statsMember4", 90, em.find(Team.class, teamAId)));
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(stats().get(teamAId).getMaxAge()).isEqualTo(20);
+    }
+
+    @Test
+    public void rebuild() {
+        Map<Long, TeamStatsDTO> incremental = stats();
+
+        teamStatsRepository.rebuild();
+        Map<Long, TeamStatsDTO> rebuilt = stats();
+
+        assertThat(rebuilt.get(teamAId)).usingRecursiveComparison().isEqualTo(incremental.get(teamAId));
+        assertThat(rebuilt.get(teamBId)).usingRecursiveComparison().isEqualTo(incremental.get(teamBId));
+    }
+
+    @Test
+    public void rebuildIfEmpty() {
+        Map<Long, TeamStatsDTO> incremental = stats();
+        assertThat(teamStatsRepository.rebuildIfEmpty()).isEqualTo(-1);
+
+        // 테이블을 처음 만든 상태
+        jdbcTemplate.update("delete from team_stats");
+        assertThat(teamStatsRepository.rebuildIfEmpty()).isPositive();
+
+        assertThat(stats().get(teamAId)).usingRecursiveComparison().isEqualTo(incremental.get(teamAId));
+        assertThat(stats().get(teamBId)).usingRecursiveComparison().isEqualTo(incremental.get(teamBId));
+    }
+
+    private Map<Long, TeamStatsDTO> stats() {
+        return teamStatsRepository.findAll().stream()
+                .filter(stats -> stats.getTeamId().equals(teamAId) || stats.getTeamId().equals(teamBId))
+                .collect(Collectors.toMap(TeamStatsDTO::getTeamId, Function.identity()));
+    }
+}
@@ -0,0 +1,126 @@
+package com.study.querydsl.search;
+
+import com.querydsl.core.types.Predicate;
+import com.study.querydsl.dto.MemberSearchCondition;
+import com.study.querydsl.dto.MemberTeamDTO;
+import com.study.querydsl.dto.TeamDTO;
+import com.study.querydsl.dto.TeamSearchCondition;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import com.study.querydsl.exception.InvalidSearchRequestException;
+import com.study.querydsl.repository.MemberRepository;
+import com.study.querydsl.repository.TeamRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.study.querydsl.entity.QMember.member;
+import static com.study.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class SearchSpecsTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("specTeamA");
+        Team teamB = new Team("specTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("specMember1", 10, teamA));
+        em.persist(new Member("specMember2", 20, teamB));
+        em.persist(new Member("specMember3", 30, teamA));
+        em.persist(new Member("specMember4", 40));
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void predicateOrder() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(40);
+        condition.setUsernamePrefix("spec");
+        condition.setTeamName("specTeamA");
+        condition.setAgeGoe(10);
+
+        Predicate[] where = SearchSpecs.of(member, condition).where();
+
+        // 등호 -> 앞부분 일치 -> 범위 순, 경로의 별칭은 Q 타입과 같아야 한다
+        assertThat(where).containsExactly(
+                team.name.eq("specTeamA"),
+                member.username.startsWith("spec"),
+                member.age.goe(10),
+                member.age.loe(40));
+    }
+
+    @Test
+    public void joinOnlyWhenFiltered() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("specMember1");
+        assertThat(SearchSpecs.of(member, condition).requiresJoin("team")).isFalse();
+
+        condition.setTeamNames(List.of("specTeamA"));
+        assertThat(SearchSpecs.of(member, condition).requiresJoin("team")).isTrue();
+
+        assertThat(SearchSpecs.of(member, new MemberSearchCondition(), Sort.by("team.name"))
+                .requiresJoin("team")).isTrue();
+    }
+
+    @Test
+    public void sortWhitelist() {
+        assertThatThrownBy(() -> SearchSpecs.of(member, new MemberSearchCondition(), Sort.by("team.id")))
+                .isInstanceOf(InvalidSearchRequestException.class)
+                .hasMessageContaining("team.id");
+    }
+
+    @Test
+    public void searchMembersSorted() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("specMember");
+        condition.setAgeGoe(10);
+
+        Page<MemberTeamDTO> simple = memberRepository.searchPageSimple(condition,
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("team.name"), Sort.Order.desc("age"))));
+        Page<MemberTeamDTO> complex = memberRepository.searchPageComplex(condition,
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("age"))));
+
+        // team 정렬은 left join 이므로 팀이 없는 회원도 포함
+        assertThat(simple.getContent()).extracting("username")
+                .containsExactlyInAnyOrder("specMember1", "specMember2", "specMember3", "specMember4");
+        assertThat(simple.getContent()).extracting("username")
+                .containsSubsequence("specMember2", "specMember3", "specMember1");
+        assertThat(complex.getContent()).extracting("username")
+                .containsExactly("specMember4", "specMember3", "specMember2", "specMember1");
+        assertThat(complex.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    public void searchTeams() {
+        TeamSearchCondition condition = new TeamSearchCondition();
+        condition.setNamePrefix("specTeam");
+
+        Page<TeamDTO> result = teamRepository.search(condition, PageRequest.of(0, 10, Sort.by(Sort.Order.desc("name"))));
+
+        assertThat(result.getContent()).extracting("name").containsExactly("specTeamB", "specTeamA");
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+}
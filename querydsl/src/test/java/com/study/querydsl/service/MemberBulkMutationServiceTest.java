@@ -0,0 +1,134 @@
+package com.study.querydsl.service;
+
+import com.study.querydsl.dto.BulkMutationResultDTO;
+import com.study.querydsl.dto.TeamStatsDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.entity.Team;
+import com.study.querydsl.repository.TeamStatsRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.study.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 조각마다 별도 트랜잭션으로 커밋하므로 테스트 데이터를 커밋하고 직접 정리한다
+ */
+@SpringBootTest(properties = "member.bulk.chunk-size=10")
+class MemberBulkMutationServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberBulkMutationService bulkMutationService;
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Long teamId;
+    Long firstMemberId;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("bulkTeam");
+            em.persist(team);
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                Member bulkMember = new Member("bulkMember" + i, i, team);
+                em.persist(bulkMember);
+                members.add(bulkMember);
+            }
+            teamId = team.getId();
+            firstMemberId = members.get(0).getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .executeUpdate();
+        });
+        jdbcTemplate.update("delete from team_stats where team_id = ?", teamId);
+    }
+
+    @Test
+    public void updateInChunks() {
+        List<MemberBulkMutationService.Progress> progress = new ArrayList<>();
+
+        BulkMutationResultDTO result = bulkMutationService.update(
+                member.team.id.eq(teamId).and(member.age.lt(15)),
+                clause -> clause.set(member.age, 99),
+                progress::add);
+
+        assertThat(result.getAffectedCount()).isEqualTo(15);
+        assertThat(result.getChunkCount()).isEqualTo(2);
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(progress).extracting(MemberBulkMutationService.Progress::affectedCount).containsExactly(10L, 15L);
+
+        Long updated = tx.execute(status -> em.createQuery(
+                        "select count(m) from Member m where m.team.id = :teamId and m.age = 99", Long.class)
+                .setParameter("teamId", teamId)
+                .getSingleResult());
+        assertThat(updated).isEqualTo(15);
+
+        TeamStatsDTO stats = teamStats();
+        assertThat(stats.getMemberCount()).isEqualTo(25);
+        assertThat(stats.getMinAge()).isEqualTo(15);
+        assertThat(stats.getMaxAge()).isEqualTo(99);
+    }
+
+    @Test
+    public void deleteInChunks() {
+        BulkMutationResultDTO result = bulkMutationService.delete(member.team.id.eq(teamId).and(member.age.goe(20)));
+
+        assertThat(result.getAffectedCount()).isEqualTo(5);
+        assertThat(result.getChunkCount()).isEqualTo(1);
+
+        TeamStatsDTO stats = teamStats();
+        assertThat(stats.getMemberCount()).isEqualTo(20);
+        assertThat(stats.getMaxAge()).isEqualTo(19);
+    }
+
+    @Test
+    public void callerContextAndSecondLevelCache() {
+        tx.executeWithoutResult(status -> {
+            Member loaded = em.find(Member.class, firstMemberId);
+
+            bulkMutationService.update(member.id.eq(firstMemberId), clause -> clause.set(member.username, "bulkUpdated"));
+
+            assertThat(em.contains(loaded)).isFalse();
+            assertThat(em.find(Member.class, firstMemberId).getUsername()).isEqualTo("bulkUpdated");
+        });
+
+        String username = tx.execute(status -> em.find(Member.class, firstMemberId).getUsername());
+        assertThat(username).isEqualTo("bulkUpdated");
+    }
+
+    private TeamStatsDTO teamStats() {
+        return teamStatsRepository.findAll().stream()
+                .filter(stats -> stats.getTeamId().equals(teamId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,95 @@
+package com.study.querydsl.service;
+
+import com.study.querydsl.dto.MemberImportResultDTO;
+import com.study.querydsl.entity.Member;
+import com.study.querydsl.exception.InvalidImportException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberImportServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberImportService memberImportService;
+
+    @Test
+    public void importCsv() throws Exception {
+        String csv = """
+                username,age,teamName
+                importMember1,10,importTeamA
+                importMember2,20,importTeamA
+
+                importMember3,30,
+                """;
+
+        MemberImportResultDTO result = memberImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImportedCount()).isEqualTo(3);
+
+        List<Member> members = em.createQuery("select m from Member m left join fetch m.team " +
+                        "where m.username like 'importMember%' order by m.username", Member.class)
+                .getResultList();
+        assertThat(members).extracting("username")
+                .containsExactly("importMember1", "importMember2", "importMember3");
+        assertThat(members.get(0).getTeam().getId()).isEqualTo(members.get(1).getTeam().getId());
+        assertThat(members.get(2).getTeam()).isNull();
+    }
+
+    @Test
+    public void importQuotedCsv() throws Exception {
+        String csv = """
+                username,age,teamName
+                "importMember1, Jr.",10,"import ""A"" team"
+                importMember2,"20",
+                "import
+                Member3",30,importTeamB
+                """;
+
+        MemberImportResultDTO result = memberImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImportedCount()).isEqualTo(3);
+
+        List<Member> members = em.createQuery("select m from Member m left join fetch m.team " +
+                        "where m.username like 'import%' order by m.age", Member.class)
+                .getResultList();
+        assertThat(members).extracting("username")
+                .containsExactly("importMember1, Jr.", "importMember2", "import\nMember3");
+        assertThat(members.get(0).getTeam().getName()).isEqualTo("import \"A\" team");
+        assertThat(members.get(1).getTeam()).isNull();
+    }
+
+    @Test
+    public void unterminatedQuote() {
+        String csv = "importMember1,10,importTeamA\n\"importMember2,20,importTeamA\n";
+
+        assertThatThrownBy(() -> memberImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    public void invalidAge() {
+        String csv = "importMember1,ten,importTeamA\n";
+
+        assertThatThrownBy(() -> memberImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+    }
+}